@@ -0,0 +1,9 @@
+-- refresh_tokens: 사용자당 1건, user_id 유니크 인덱스로 upsert / 단건 조회
+-- (ddl-auto: none 이므로 운영 DB에 직접 적용)
+
+-- 사용자별 가장 최근 1건만 남기고 중복 삭제
+DELETE t1 FROM testproject.refresh_tokens t1
+    JOIN testproject.refresh_tokens t2 ON t1.user_id = t2.user_id AND t1.id < t2.id;
+
+ALTER TABLE testproject.refresh_tokens
+    ADD CONSTRAINT uk_refresh_tokens_user_id UNIQUE (user_id);
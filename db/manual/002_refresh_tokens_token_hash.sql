@@ -0,0 +1,12 @@
+-- refresh_tokens: 원본 토큰 대신 SHA-256 해시(32바이트)만 저장
+
+ALTER TABLE testproject.refresh_tokens
+    ADD COLUMN token_hash BINARY(32) NULL AFTER user_id;
+
+UPDATE testproject.refresh_tokens
+    SET token_hash = UNHEX(SHA2(token, 256))
+    WHERE token IS NOT NULL;
+
+ALTER TABLE testproject.refresh_tokens
+    DROP COLUMN token,
+    MODIFY COLUMN token_hash BINARY(32) NOT NULL;
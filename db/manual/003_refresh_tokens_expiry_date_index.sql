@@ -0,0 +1,4 @@
+-- 만료 토큰 정리(RefreshTokenPurger)가 expiry_date 범위로 조금씩 삭제할 수 있도록 인덱스 추가
+
+ALTER TABLE testproject.refresh_tokens
+    ADD INDEX idx_refresh_tokens_expiry_date (expiry_date);
@@ -0,0 +1,6 @@
+-- refresh_tokens: 리프레시 토큰 rotation (family / generation)
+-- 기존 행은 family_id NULL, generation 0 으로 두고 다음 갱신 시 새 family로 전환
+
+ALTER TABLE testproject.refresh_tokens
+    ADD COLUMN family_id CHAR(22) NULL AFTER user_id,
+    ADD COLUMN generation INT NOT NULL DEFAULT 0 AFTER family_id;
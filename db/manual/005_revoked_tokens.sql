@@ -0,0 +1,12 @@
+-- 액세스 토큰 폐기 목록 (로그아웃 / 사용자 전체 로그아웃)
+-- 서버마다 메모리 Bloom filter로 적재하고, revoked_at 기준으로 다른 서버의 추가분을 주기적으로 조회
+
+CREATE TABLE testproject.revoked_tokens (
+    token_id   VARCHAR(32) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (token_id),
+    INDEX idx_revoked_tokens_revoked_at (revoked_at),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+);
@@ -0,0 +1,6 @@
+-- users: 토큰 버전 (비밀번호 / 권한 변경 시 +1, 이전 버전 토큰 일괄 폐기)
+-- 서버별 메모리 사본(TokenVersionRegistry)이 updated_at 기준으로 변경분을 조회하므로 인덱스 추가
+
+ALTER TABLE testproject.users
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0 AFTER role,
+    ADD INDEX idx_users_updated_at (updated_at);
@@ -0,0 +1,4 @@
+-- users: 알고리즘 접두사 포함 해시 저장 ("{bcrypt}" + 60자, "{argon2}$argon2id$..." 약 100자)
+
+ALTER TABLE testproject.users
+    MODIFY COLUMN password VARCHAR(255) NOT NULL;
@@ -0,0 +1,6 @@
+-- users: 로그인 아이디(user_id) 유니크 인덱스로 단건 조회 (로그인 1회당 users 조회 1회)
+-- 중복 아이디가 있으면 적용 실패하므로 먼저 확인:
+--   SELECT user_id, COUNT(*) FROM testproject.users GROUP BY user_id HAVING COUNT(*) > 1;
+
+ALTER TABLE testproject.users
+    ADD CONSTRAINT uk_users_user_id UNIQUE (user_id);
@@ -0,0 +1,105 @@
+/*
+ * 인증 파이프라인 부하 테스트 (k6) - 플랫폼 스레드 / 가상 스레드 모드 비교용
+ *
+ * 1) 플랫폼 스레드(기본, Java 17)
+ *    ./gradlew bootRun
+ * 2) 가상 스레드(Java 21)
+ *    VIRTUAL_THREADS=true ./gradlew bootRun -PjavaVersion=21
+ *    (pinning 확인 시 -PtracePinnedThreads 추가)
+ *  - 부하 발생기 1대(ip 1개)에서 실행하므로 로그인 ip별 요청 제한을 높여서 기동:
+ *    AUTH_RATELIMIT_LOGINIP_PERMITSPERMINUTE=1000000 AUTH_RATELIMIT_LOGINIP_BURST=100000 ./gradlew bootRun
+ *
+ * 실행: k6 run -e BASE_URL=http://localhost:8080 loadtest/auth-load.js
+ *  - USERS: 사전 등록할 사용자 수 (기본 200)
+ *  - LOGIN_RATE: 로그인 버스트 최대 초당 요청 수 (기본 200)
+ *  - API_RATE: 인증된 API 초당 요청 수 (기본 2000)
+ *
+ * 모드별로 같은 조건에서 실행 후 비교할 지표
+ *  - http_req_duration{scenario:login_burst} / {scenario:authenticated_api} p95, p99
+ *  - http_req_failed (커넥션 풀 / 스레드 포화 시 타임아웃)
+ *  - 서버 http://localhost:8081/actuator/prometheus (management 포트): auth_login_phase_seconds, auth_filter_seconds, hikaricp_connections_pending
+ */
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '200');
+const LOGIN_RATE = parseInt(__ENV.LOGIN_RATE || '200');
+const API_RATE = parseInt(__ENV.API_RATE || '2000');
+const PASSWORD = 'loadtest-password';
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        // 로그인 버스트: BCrypt + DB 조회 + 리프레시 토큰 저장
+        login_burst: {
+            executor: 'ramping-arrival-rate',
+            exec: 'login',
+            startRate: 10,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: LOGIN_RATE, duration: '30s' },
+                { target: LOGIN_RATE, duration: '1m' },
+                { target: 0, duration: '10s' },
+            ],
+        },
+        // 같은 시간 동안 일반 인증 요청 (로그인 버스트가 다른 요청 지연에 주는 영향 확인)
+        authenticated_api: {
+            executor: 'constant-arrival-rate',
+            exec: 'authenticatedApi',
+            rate: API_RATE,
+            timeUnit: '1s',
+            duration: '1m40s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{scenario:authenticated_api}': ['p(95)<50'],
+    },
+};
+
+function loginId(i) {
+    return `lt${String(i).padStart(6, '0')}`;
+}
+
+function loginRequest(i) {
+    return http.post(`${BASE_URL}/api/login`,
+        JSON.stringify({ username: loginId(i), password: PASSWORD }), JSON_HEADERS);
+}
+
+/* 사용자 등록(이미 있으면 무시) 후 인증 API용 액세스 토큰 발급 */
+export function setup() {
+    const tokens = [];
+    for (let i = 0; i < USERS; i++) {
+        http.post(`${BASE_URL}/api/register`, JSON.stringify({
+            userId: loginId(i),
+            username: `loadtest${i}`,
+            password: PASSWORD,
+            email: `${loginId(i)}@loadtest.local`,
+        }), JSON_HEADERS);
+        const res = loginRequest(i);
+        if (res.status === 200) {
+            tokens.push(res.json('data.data.accessToken'));
+        }
+    }
+    if (tokens.length === 0) {
+        throw new Error('로그인 가능한 부하 테스트 사용자가 없습니다.');
+    }
+    return { tokens };
+}
+
+export function login() {
+    const res = loginRequest(Math.floor(Math.random() * USERS));
+    check(res, { 'login 200': (r) => r.status === 200 });
+}
+
+export function authenticatedApi(data) {
+    const token = data.tokens[Math.floor(Math.random() * data.tokens.length)];
+    const res = http.get(`${BASE_URL}/api/path/user`, { headers: { Authorization: `Bearer ${token}` } });
+    check(res, { 'api 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,60 @@
+package com.project.testProject.benchmark;
+
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.VerifiedTokenCache;
+import com.project.testProject.security.jwt.filter.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/* JwtAuthenticationFilter 1회 전체 호출 벤치마크 (서블릿 객체는 mock 사용) */
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    /* 검증 토큰 캐시 사용 여부 */
+    @Param({"false", "true"})
+    public boolean verifiedCache;
+
+    /* DB principal 모드 (UserDetailsService는 DB 없이 고정 객체 반환) */
+    @Param({"false", "true"})
+    public boolean loadUserFromDb;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp(){
+        JwtProvider jwtProvider = JwtFixtures.jwtProvider();
+        User user = JwtFixtures.user();
+        UserDetailsService userDetailsService = username -> JwtFixtures.userDetails(user);
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(verifiedCache, 100000, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtProvider, userDetailsService, verifiedTokenCache,
+                JwtFixtures.tokenRevocationList(), JwtFixtures.tokenVersionRegistry(),
+                JwtFixtures.authAuditLogger(), JwtFixtures.routePolicy(), JwtFixtures.roleBitmask(), new SimpleMeterRegistry(), loadUserFromDb);
+
+        String accessToken = jwtProvider.generateAccessToken(JwtFixtures.userDetails(user), user);
+        request = new MockHttpServletRequest("GET", "/api/path/user");
+        request.addHeader(JwtFixtures.HEADER, JwtFixtures.TOKEN_PREFIX + accessToken);
+        response = new MockHttpServletResponse();
+        filterChain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        filter.doFilter(request, response, filterChain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,96 @@
+package com.project.testProject.benchmark;
+
+import com.project.testProject.common.JsonConfig;
+import com.project.testProject.common.JsonSupport;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.audit.AuthAuditLogger;
+import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.JwtTokenMinter;
+import com.project.testProject.security.jwt.key.JwtKeyManager;
+import com.project.testProject.security.jwt.revocation.TokenRevocationList;
+import com.project.testProject.security.jwt.version.TokenVersionRegistry;
+import com.project.testProject.security.role.RoleBitmask;
+import com.project.testProject.security.role.RoleConfig;
+import com.project.testProject.security.route.RoutePolicy;
+import com.project.testProject.security.route.RoutePolicyConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/* 벤치마크 공통 객체 생성 (application.yml과 동일한 설정값 사용) */
+final class JwtFixtures {
+
+    static final String SECRET = "dGVzdHByb2plY3RfcGFzc3dvcmRfc2hpbmh1bndvbzEyMzQhIQ==";
+    static final long ACCESS_EXPIRATION = 3600000L;
+    static final long REFRESH_EXPIRATION = 604800000L;
+    static final String TOKEN_PREFIX = "Bearer ";
+    static final String HEADER = "Authorization";
+
+    private JwtFixtures() {
+    }
+
+    static JwtProvider jwtProvider(){
+        return jwtProvider("HS256");
+    }
+
+    /* 서명 알고리즘 비교용 (HS256 / RS256 / ES256) */
+    static JwtProvider jwtProvider(String algorithm){
+        JsonSupport jsonSupport = jsonSupport();
+        JwtKeyManager keyManager = new JwtKeyManager(jsonSupport, SECRET, algorithm, "", "", "", false, REFRESH_EXPIRATION, "");
+        return new JwtProvider(keyManager, new JwtTokenMinter(roleBitmask(), jsonSupport, 100000), jsonSupport, new SimpleMeterRegistry(), ACCESS_EXPIRATION, REFRESH_EXPIRATION, TOKEN_PREFIX, HEADER);
+    }
+
+    /* 운영과 같은 설정의 ObjectMapper (Spring Boot 자동 설정 대신 builder + JsonConfig customizer) */
+    static JsonSupport jsonSupport(){
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JsonConfig().jsonCustomizer().customize(builder);
+        return new JsonSupport(builder.build());
+    }
+
+    /* 폐기 항목 없는 폐기 목록 (DB 적재/조회는 호출하지 않으므로 repository 없이 생성) */
+    static TokenRevocationList tokenRevocationList(){
+        return new TokenRevocationList(null, new SimpleMeterRegistry(), ACCESS_EXPIRATION, REFRESH_EXPIRATION, 100000, 0.01, 5000);
+    }
+
+    /* 변경 이력 없는 토큰 버전 (DB 적재/조회는 호출하지 않으므로 JdbcTemplate 없이 생성) */
+    static TokenVersionRegistry tokenVersionRegistry(){
+        return new TokenVersionRegistry(null, new SimpleMeterRegistry(), 10000, 5000);
+    }
+
+    /* 감사 이벤트 기본 샘플링 */
+    static AuthAuditLogger authAuditLogger(){
+        return new AuthAuditLogger(1.0, 1.0, 0.01);
+    }
+
+    /* 운영과 동일한 역할 계층 */
+    static RoleBitmask roleBitmask(){
+        return new RoleConfig().roleBitmask();
+    }
+
+    /* 운영과 동일한 경로 규칙 */
+    static RoutePolicy routePolicy(){
+        return new RoutePolicyConfig().routePolicy();
+    }
+
+    static User user(){
+        return User.builder()
+                .id(12345L)
+                .userId("benchmark")
+                .username("벤치마크")
+                .password("{noop}password")
+                .email("benchmark@test.com")
+                .role("ROLE_USER")
+                .build();
+    }
+
+    static UserDetails userDetails(User user){
+        return new org.springframework.security.core.userdetails.User(
+                String.valueOf(user.getId()),
+                user.getPassword(),
+                List.of(new SimpleGrantedAuthority(user.getRole()))
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.testProject.benchmark;
+
+import com.project.testProject.model.TokenPayload;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.TokenVerification;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/* JwtProvider 토큰 발급/검증 경로 벤치마크 */
+@State(Scope.Benchmark)
+public class JwtProviderBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    public String algorithm;
+
+    private JwtProvider jwtProvider;
+    private User user;
+    private UserDetails userDetails;
+    private String accessToken;
+    private String bearerToken;
+
+    @Setup
+    public void setUp(){
+        jwtProvider = JwtFixtures.jwtProvider(algorithm);
+        user = JwtFixtures.user();
+        userDetails = JwtFixtures.userDetails(user);
+        accessToken = jwtProvider.generateAccessToken(userDetails, user);
+        bearerToken = JwtFixtures.TOKEN_PREFIX + accessToken;
+    }
+
+    @Benchmark
+    public String generateAccessToken(){
+        return jwtProvider.generateAccessToken(userDetails, user);
+    }
+
+    @Benchmark
+    public String generateRefreshToken(){
+        return jwtProvider.generateRefreshToken(userDetails, user, "AAAAAAAAAAAAAAAAAAAAAA", 0);
+    }
+
+    @Benchmark
+    public Claims getClaimFromToken(){
+        return jwtProvider.getClaimFromToken(bearerToken);
+    }
+
+    @Benchmark
+    public boolean validateToken(){
+        return jwtProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public TokenVerification verifyToken(){
+        return jwtProvider.verifyToken(accessToken);
+    }
+
+    @Benchmark
+    public TokenPayload getPayloadFormToken(){
+        return jwtProvider.getPayloadFormToken(accessToken, TokenPayload.class);
+    }
+}
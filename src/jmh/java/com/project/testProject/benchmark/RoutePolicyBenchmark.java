@@ -0,0 +1,73 @@
+package com.project.testProject.benchmark;
+
+import com.project.testProject.security.route.RoutePolicy;
+import com.project.testProject.security.route.RouteRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* 경로 규칙 조회: trie(RoutePolicy) vs 패턴 목록 순차 매칭(requestMatchers 방식) */
+@State(Scope.Thread)
+public class RoutePolicyBenchmark {
+
+    /* 규칙 수 (실 서비스 경로 테이블 규모) */
+    @Param({"10", "300"})
+    public int routes;
+
+    /* 목록 마지막 쪽 규칙 / 어떤 규칙에도 없는 경로 */
+    @Param({"/api/path/user", "/api/orders/12345/items"})
+    public String path;
+
+    private RoutePolicy routePolicy;
+    private List<PathPattern> patterns;
+    private List<RouteRule> patternRules;
+    private RouteRule defaultRule;
+
+    @Setup
+    public void setUp(){
+        RoutePolicy.Builder builder = RoutePolicy.builder();
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < routes - 3; i++) {
+            paths.add("/api/resource" + i + "/**");
+            builder.hasRole("USER", "/api/resource" + i + "/**");
+        }
+        paths.add("/api/path/admin");
+        paths.add("/api/path/manager");
+        paths.add("/api/path/user");
+        builder.hasRole("ADMIN", "/api/path/admin").hasRole("MANAGER", "/api/path/manager").hasRole("USER", "/api/path/user");
+        routePolicy = builder.build();
+
+        PathPatternParser parser = new PathPatternParser();
+        patterns = new ArrayList<>();
+        patternRules = new ArrayList<>();
+        for (String pattern : paths) {
+            patterns.add(parser.parse(pattern));
+            patternRules.add(routePolicy.match(pattern.replace("/**", "")));
+        }
+        defaultRule = routePolicy.match("/");
+    }
+
+    @Benchmark
+    public RouteRule trie(){
+        return routePolicy.match(path);
+    }
+
+    @Benchmark
+    public RouteRule matcherList(){
+        PathContainer container = PathContainer.parsePath(path);
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matches(container)) {
+                return patternRules.get(i);
+            }
+        }
+        return defaultRule;
+    }
+}
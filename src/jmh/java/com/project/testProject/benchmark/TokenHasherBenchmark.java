@@ -0,0 +1,39 @@
+package com.project.testProject.benchmark;
+
+import com.project.testProject.security.jwt.TokenHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/*
+ * SHA-256 인스턴스 재사용 방식 비교 (가상 스레드에서는 ThreadLocal이 재사용되지 않으므로 pool vs 호출마다 생성)
+ * - 코어 수보다 많은 스레드에서 동시에 실행해 pool(ArrayBlockingQueue) 경합 포함
+ */
+@State(Scope.Benchmark)
+@Threads(16)
+public class TokenHasherBenchmark {
+
+    private String refreshToken;
+
+    @Setup
+    public void setUp(){
+        refreshToken = JwtFixtures.jwtProvider().generateRefreshToken(
+                JwtFixtures.userDetails(JwtFixtures.user()), JwtFixtures.user(), "AAAAAAAAAAAAAAAAAAAAAA", 0);
+    }
+
+    @Benchmark
+    public byte[] pooled(){
+        return TokenHasher.sha256(refreshToken);
+    }
+
+    @Benchmark
+    public byte[] perCall() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+    }
+}
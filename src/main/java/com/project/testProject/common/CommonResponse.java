@@ -1,8 +1,6 @@
 package com.project.testProject.common;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,10 +16,8 @@ public class CommonResponse<T> implements BaseResponse {
     private T data;
 
 
-    public String toJsonString() throws JsonProcessingException {
-        var om = new ObjectMapper();
-        om.setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
-
-        return om.writeValueAsString(this);
+    /* Spring Boot ObjectMapper 설정 + null 필드 생략 */
+    public String toJsonString(JsonSupport jsonSupport) throws JsonProcessingException {
+        return jsonSupport.nonNullWriter(CommonResponse.class).writeValueAsString(this);
     }
 }
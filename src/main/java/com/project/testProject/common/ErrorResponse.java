@@ -1,5 +1,6 @@
 package com.project.testProject.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -21,6 +22,12 @@ public class ErrorResponse implements BaseResponse{
         this.meta.code = nullToString(errorCode);
     }
 
+    /* reason: 클라이언트 분기용 거부 사유 (expired, revoked, insufficient_role ...) */
+    public ErrorResponse(String errorMessage, String errorCode, String reason) {
+        this(errorMessage, errorCode);
+        this.meta.reason = reason;
+    }
+
     public ErrorResponse(MetaData meta) {
         this.meta = new ErrorMetaData();
         this.meta.message=nullToString(meta.getMessage());
@@ -33,6 +40,8 @@ public class ErrorResponse implements BaseResponse{
         private boolean result = false;
         private String message = "";
         private String code = "";
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String reason;
     }
 
     public static String nullToString(Object obj) {
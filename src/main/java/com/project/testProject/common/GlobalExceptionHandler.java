@@ -0,0 +1,51 @@
+package com.project.testProject.common;
+
+import com.project.testProject.security.jwt.filter.AuthRejectionReason;
+import com.project.testProject.security.password.PasswordHashingRejectedException;
+import com.project.testProject.security.ratelimit.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /* 로그인 실패 (없는 아이디 / 비밀번호 불일치 구분 없음) -> 401 bad_credentials (entry point의 missing_token으로 가지 않도록) */
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<BaseResponse> handleBadCredentials(BadCredentialsException e){
+        AuthRejectionReason reason = AuthRejectionReason.BAD_CREDENTIALS;
+        return ResponseEntity.status(reason.getStatus())
+                .body(new ErrorResponse(reason.getMessage(), String.valueOf(reason.getStatus()), reason.code()));
+    }
+
+    /* 회원가입 아이디 중복 (사전 확인 DuplicateKeyException / 동시 가입 시 uk_users_user_id 위반) -> 500 대신 409 */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<BaseResponse> handleDataIntegrityViolation(DataIntegrityViolationException e){
+        log.debug("중복 데이터 저장 거부: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new CommonResponse<>(MetaData.builder().result(false).code("409").message("이미 사용 중인 아이디입니다.").build(), null));
+    }
+
+    /* 비밀번호 처리 실행기 포화 -> 재시도 가능한 429 */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<BaseResponse> handlePasswordHashingRejected(PasswordHashingRejectedException e){
+        log.debug("비밀번호 처리 거부: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(MetaData.builder().result(false).code("429").message("요청이 많아 잠시 후 다시 시도해 주세요.").build()));
+    }
+
+    /* 로그인 / 토큰 갱신 요청 제한 초과 -> Retry-After 이후 재시도 */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<BaseResponse> handleRateLimitExceeded(RateLimitExceededException e){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorResponse(MetaData.builder().result(false).code("429").message("요청이 많아 잠시 후 다시 시도해 주세요.").build()));
+    }
+}
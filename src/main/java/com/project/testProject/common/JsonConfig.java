@@ -0,0 +1,20 @@
+package com.project.testProject.common;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/* Spring Boot ObjectMapper 설정 (MVC 응답 / JsonSupport 공통, 별도 mapper 생성하지 않음) */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jsonCustomizer(){
+        // 모르는 필드 무시 (claims -> DTO 변환), 날짜는 ISO 문자열 (Boot 기본값이지만 의존하는 동작이므로 명시)
+        return builder -> builder.featuresToDisable(
+                DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
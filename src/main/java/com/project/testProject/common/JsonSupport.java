@@ -0,0 +1,78 @@
+package com.project.testProject.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+/*
+ * 공통 JSON 직렬화 (Spring Boot ObjectMapper 빈을 그대로 사용, 설정은 JsonConfig)
+ * - ObjectWriter / ObjectReader는 불변 + thread-safe, 타입별로 1회 생성해 루트 serializer까지 캐시
+ * - 응답 envelope(CommonResponse, ErrorResponse, MetaData, ResultObject) writer는 기동 시 생성
+ *   -> 같은 mapper를 쓰는 MVC 응답(MappingJackson2HttpMessageConverter)도 첫 요청부터 serializer cache 사용
+ * - null 필드를 생략하는 writer(nonNullWriter)는 Boot mapper 복사본에 NON_NULL만 추가해서 사용 (MVC 응답 형식은 그대로)
+ */
+@Component
+public class JsonSupport {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper nonNullMapper;
+
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return objectMapper.writerFor(type);
+        }
+    };
+
+    private final ClassValue<ObjectWriter> nonNullWriters = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return nonNullMapper.writerFor(type);
+        }
+    };
+
+    private final ClassValue<ObjectReader> readers = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return objectMapper.readerFor(type);
+        }
+    };
+
+    public JsonSupport(ObjectMapper objectMapper){
+        this.objectMapper = objectMapper;
+        this.nonNullMapper = objectMapper.copy().setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+        writer(CommonResponse.class);
+        writer(ErrorResponse.class);
+        writer(MetaData.class);
+        writer(ResultObject.class);
+    }
+
+    public ObjectWriter writer(Class<?> type){
+        return writers.get(type);
+    }
+
+    /* null 필드 생략 writer */
+    public ObjectWriter nonNullWriter(Class<?> type){
+        return nonNullWriters.get(type);
+    }
+
+    public ObjectReader reader(Class<?> type){
+        return readers.get(type);
+    }
+
+    public String toJson(Object value) throws JsonProcessingException {
+        return writer(value.getClass()).writeValueAsString(value);
+    }
+
+    public byte[] toJsonBytes(Object value) throws JsonProcessingException {
+        return writer(value.getClass()).writeValueAsBytes(value);
+    }
+
+    /* Map 등 이미 파싱된 값을 다른 타입으로 변환 (전용 binder가 없는 타입용) */
+    public <T> T convert(Object value, Class<T> type){
+        return objectMapper.convertValue(value, type);
+    }
+}
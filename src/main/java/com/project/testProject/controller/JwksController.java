@@ -0,0 +1,33 @@
+package com.project.testProject.controller;
+
+import com.project.testProject.security.jwt.key.JwtKeyManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/* 리소스 서버가 토큰을 직접 검증할 수 있도록 공개키(JWKS) 제공 */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyManager jwtKeyManager;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(WebRequest webRequest){
+        JwtKeyManager.Jwks jwks = jwtKeyManager.jwks();
+        // If-None-Match가 현재 ETag와 같으면 304 응답 (본문 없음)
+        if (webRequest.checkNotModified(jwks.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(jwks.etag())
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwks.json());
+    }
+}
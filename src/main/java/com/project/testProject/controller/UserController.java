@@ -1,17 +1,23 @@
 package com.project.testProject.controller;
 
 import com.project.testProject.common.*;
+import com.project.testProject.model.dto.PasswordChangeDto;
 import com.project.testProject.model.dto.RefreshTokenRequestDto;
+import com.project.testProject.model.dto.RoleChangeDto;
 import com.project.testProject.model.dto.TokenResponseDto;
 import com.project.testProject.model.dto.UserLoginDto;
 import com.project.testProject.model.dto.UserRegistrationDto;
 import com.project.testProject.model.entity.User;
+import com.project.testProject.security.ratelimit.AuthRateLimiter;
 import com.project.testProject.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -21,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<BaseResponse> register(@Valid @RequestBody UserRegistrationDto userRegistrationDto){
@@ -38,12 +45,14 @@ public class UserController {
 
     @PostMapping("/login")
     public ResponseEntity<BaseResponse> login(@Valid @RequestBody UserLoginDto loginDto){
+        authRateLimiter.checkLogin(loginDto.getUsername()); // 비밀번호 해시 전에 ip / 아이디별 요청 제한
         ResultObject<Object> refreshToken = authService.login(loginDto);
         return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("로그인 완료").build(), refreshToken));
     }
 
     @PostMapping("/refresh-token")
     public ResponseEntity<BaseResponse> refreshToken(@Valid @RequestBody RefreshTokenRequestDto requestDto){
+        authRateLimiter.checkRefresh();
         String refreshToken = requestDto.getRefreshToken();
         ResultObject<TokenResponseDto> tokenResponse = authService.refreshToken(refreshToken);
         if(!tokenResponse.isSuccess()){
@@ -52,6 +61,35 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("발급완료").build(), tokenResponse));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<BaseResponse> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization){
+        authService.logout(authorization);
+        return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("로그아웃 완료").build(), null));
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<BaseResponse> logoutAll(@AuthenticationPrincipal UserDetails userDetails){
+        //principal username 자리에는 사용자 idx
+        authService.logoutAll(Long.valueOf(userDetails.getUsername()));
+        return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("전체 로그아웃 완료").build(), null));
+    }
+
+    /* 비밀번호 변경 -> 토큰 버전 증가로 기존 토큰(현재 토큰 포함) 모두 폐기, 다시 로그인 필요 */
+    @PutMapping("/user/password")
+    public ResponseEntity<BaseResponse> changePassword(@AuthenticationPrincipal UserDetails userDetails,
+                                                       @Valid @RequestBody PasswordChangeDto passwordChangeDto){
+        authService.changePassword(Long.valueOf(userDetails.getUsername()),
+                passwordChangeDto.getCurrentPassword(), passwordChangeDto.getNewPassword());
+        return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("비밀번호 변경 완료").build(), null));
+    }
+
+    /* 관리자 권한 변경 (/api/admin/** 는 ADMIN만, RoutePolicyConfig) -> 대상 사용자의 기존 토큰 모두 폐기 */
+    @PutMapping("/admin/users/{userIdx}/role")
+    public ResponseEntity<BaseResponse> changeRole(@PathVariable Long userIdx, @Valid @RequestBody RoleChangeDto roleChangeDto){
+        authService.changeRole(userIdx, roleChangeDto.getRole());
+        return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("권한 변경 완료").build(), null));
+    }
+
     @GetMapping("/test")
     public ResponseEntity<BaseResponse> test(){
         return ResponseEntity.status(HttpStatus.OK).body(new CommonResponse<>(MetaData.builder().result(true).message("테스트완료").build(), null));
@@ -0,0 +1,15 @@
+package com.project.testProject.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PasswordChangeDto {
+    @NotBlank(message = "현재 비밀번호는 필수 입력 값입니다.")
+    private String currentPassword;
+
+    @NotBlank(message = "새 비밀번호는 필수 입력 값입니다.")
+    @Size(min = 8, message = "비밀번호는 최소 8자 이상이어야 합니다.")
+    private String newPassword;
+}
@@ -0,0 +1,12 @@
+package com.project.testProject.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class RoleChangeDto {
+    @NotBlank(message = "권한은 필수 입력 값입니다.")
+    @Pattern(regexp = "ROLE_[A-Z_]+", message = "권한은 ROLE_ 로 시작해야 합니다.")
+    private String role;
+}
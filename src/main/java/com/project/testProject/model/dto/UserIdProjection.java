@@ -1,6 +0,0 @@
-package com.project.testProject.model.dto;
-
-public interface UserIdProjection {
-    //필드 이름은 Entity의 필드 이름과 동일하게 사용
-    Long getId();
-}
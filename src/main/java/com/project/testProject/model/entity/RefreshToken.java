@@ -9,18 +9,26 @@ import java.time.LocalDateTime;
 @Entity
 @Setter
 @Getter
-@Table(name = "refresh_tokens", schema = "testproject")
+@Table(name = "refresh_tokens", schema = "testproject",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_user_id", columnNames = "user_id"),
+        indexes = @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date"))
 public class RefreshToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "user_id")
-    private Long userId;
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // 사용자당 1건 (유니크 인덱스로 조회/upsert)
 
-    @Column
-    private String token;
+    @Column(name = "family_id", columnDefinition = "CHAR(22)")
+    private String familyId; // 로그인 1회 = family 1개, 갱신 시 같은 family 유지
+
+    @Column(nullable = false)
+    private int generation; // 갱신될 때마다 +1, 이보다 작은 generation의 토큰은 사용된 토큰
+
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)", nullable = false)
+    private byte[] tokenHash; // 토큰 SHA-256 해시 (원본 토큰은 저장하지 않음)
 
     @Column
     private LocalDateTime expiryDate;
@@ -0,0 +1,40 @@
+package com.project.testProject.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@Table(name = "revoked_tokens", schema = "testproject",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+        })
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 32)
+    private String tokenId; // 액세스 토큰 jti, 사용자 전체 로그아웃은 "u:{userIdx}"
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 이 시각 이후에는 토큰 자체가 만료되므로 삭제 가능
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt; // 사용자 전체 로그아웃은 이 시각 이전에 발급된 토큰 모두 폐기
+
+    public RevokedToken(String tokenId, Long userId, LocalDateTime expiresAt, LocalDateTime revokedAt){
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -29,6 +29,8 @@ public class User {
     private String email;
     @Column
     private String role;
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion; // 비밀번호 / 권한 변경 시 +1, 이전 버전으로 발급된 토큰은 모두 폐기
     @Column(name ="created_at")
     private LocalDateTime createdAt;
     @Column(name ="updated_at")
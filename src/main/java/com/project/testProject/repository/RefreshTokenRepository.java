@@ -2,10 +2,41 @@ package com.project.testProject.repository;
 
 import com.project.testProject.model.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
+    /* uk_refresh_tokens_user_id 인덱스 단건 조회 */
+    Optional<RefreshToken> findByUserId(Long userId);
+
     @Transactional
     void deleteByUserId(Long idx);
+
+    /* 현재 generation인 경우에만 다음 generation으로 교체 (다른 서버에서 먼저 갱신했으면 0건) */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET family_id = :nextFamilyId, generation = generation + 1,"
+            + " token_hash = :tokenHash, expiry_date = :expiryDate"
+            + " WHERE user_id = :userId AND family_id <=> :familyId AND generation = :generation", nativeQuery = true)
+    int rotate(@Param("userId") Long userId,
+               @Param("familyId") String familyId,
+               @Param("generation") int generation,
+               @Param("nextFamilyId") String nextFamilyId,
+               @Param("tokenHash") byte[] tokenHash,
+               @Param("expiryDate") LocalDateTime expiryDate);
+
+    /* 만료 토큰을 idx_refresh_tokens_expiry_date 순서로 limit건만 삭제 (배치마다 짧은 트랜잭션) */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE expiry_date < :now ORDER BY expiry_date LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM refresh_tokens WHERE expiry_date < :now", nativeQuery = true)
+    long countExpired(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,40 @@
+package com.project.testProject.repository;
+
+import com.project.testProject.model.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /* 기동 시 아직 만료되지 않은 폐기 항목 전체 로드 */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /* 다른 서버에서 추가된 폐기 항목 조회 (idx_revoked_tokens_revoked_at) */
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime since);
+
+    /*
+     * 폐기 항목 저장 (save()는 id가 지정된 엔티티를 merge -> SELECT 후 INSERT 2회 왕복)
+     * 중복 키: 같은 jti 재로그아웃 / 같은 사용자 재차 전체 로그아웃 -> 더 늦은 만료 / 기준 시각으로 갱신
+     * (revoked_at이 바뀌므로 다른 서버의 poll에서 새 기준 시각을 다시 조회, MySQL 8.0.19+ row alias 문법)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (token_id, user_id, expires_at, revoked_at) VALUES (:tokenId, :userId, :expiresAt, :revokedAt) AS new"
+            + " ON DUPLICATE KEY UPDATE expires_at = GREATEST(revoked_tokens.expires_at, new.expires_at),"
+            + " revoked_at = GREATEST(revoked_tokens.revoked_at, new.revoked_at)", nativeQuery = true)
+    int upsert(@Param("tokenId") String tokenId,
+               @Param("userId") Long userId,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM revoked_tokens WHERE expires_at < :now ORDER BY expires_at LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
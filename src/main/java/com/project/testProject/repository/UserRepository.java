@@ -1,13 +1,26 @@
 package com.project.testProject.repository;
 
-import com.project.testProject.model.dto.UserIdProjection;
 import com.project.testProject.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<UserIdProjection> findByUserId(String username);
+    /* uk_users_user_id 인덱스 단건 조회 (로그인 시 인증 + 토큰 발급에 필요한 정보를 한 번에 조회) */
+    Optional<User> findByUserId(String userId);
 
     User findByUsername(String username);
+
+    /* 회원가입 아이디 중복 확인 (uk_users_user_id 인덱스만 조회) */
+    boolean existsByUserId(String userId);
+
+    /* 로그인 시 재해시된 비밀번호만 교체 (같은 비밀번호이므로 token_version / updated_at 유지) */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET password = :password WHERE id = :id", nativeQuery = true)
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,25 @@
+package com.project.testProject.security.audit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/* 인증 감사 이벤트 종류 (샘플링 비율은 분류별로 설정) */
+@Getter
+@RequiredArgsConstructor
+public enum AuthAuditEvent {
+    LOGIN_SUCCESS(Category.SUCCESS),
+    LOGIN_FAILURE(Category.FAILURE),
+    REFRESH_SUCCESS(Category.SUCCESS),
+    REFRESH_FAILURE(Category.FAILURE),
+    REFRESH_REUSE(Category.FAILURE), // 이미 사용된 리프레시 토큰 재사용 (family 폐기)
+    LOGOUT(Category.SUCCESS),
+    LOGOUT_ALL(Category.SUCCESS),
+    PASSWORD_CHANGE(Category.SUCCESS),
+    PASSWORD_CHANGE_FAILURE(Category.FAILURE), // 현재 비밀번호 불일치
+    ROLE_CHANGE(Category.SUCCESS),
+    TOKEN_REJECTED(Category.REJECTION); // 요청 필터에서 거부된 액세스 토큰 (요청마다 발생할 수 있어 별도 비율)
+
+    private final Category category;
+
+    public enum Category { SUCCESS, FAILURE, REJECTION }
+}
@@ -0,0 +1,62 @@
+package com.project.testProject.security.audit;
+
+import com.project.testProject.security.jwt.ClientIp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * 인증 감사 이벤트 기록
+ * - "AUTH_AUDIT" 로거로 key-value 구조 이벤트 출력 (logback-spring.xml에서 bounded 비동기 appender로 연결, 큐가 가득 차면 버림)
+ * - 토큰 / 비밀번호 / 엔티티는 기록하지 않음
+ * - 분류별 샘플링 비율 (1.0: 전부, 0: 기록 안 함)
+ */
+@Component
+public class AuthAuditLogger {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("AUTH_AUDIT");
+
+    private final double successSampleRate;
+    private final double failureSampleRate;
+    private final double rejectionSampleRate;
+
+    public AuthAuditLogger(@Value("${auth.audit.sample-rate.success:1.0}") double successSampleRate,
+                           @Value("${auth.audit.sample-rate.failure:1.0}") double failureSampleRate,
+                           @Value("${auth.audit.sample-rate.rejection:0.01}") double rejectionSampleRate){
+        this.successSampleRate = successSampleRate;
+        this.failureSampleRate = failureSampleRate;
+        this.rejectionSampleRate = rejectionSampleRate;
+    }
+
+    public void record(AuthAuditEvent event, Long userIdx){
+        record(event, userIdx, null);
+    }
+
+    public void record(AuthAuditEvent event, Long userIdx, String reason){
+        if (!AUDIT.isInfoEnabled() || !sampled(event)) {
+            return;
+        }
+        // 메시지 포맷 없이 key-value만 전달 (출력 형식은 appender 레이아웃에서 처리)
+        AUDIT.atInfo()
+                .addKeyValue("event", event)
+                .addKeyValue("userIdx", userIdx)
+                .addKeyValue("reason", reason)
+                .addKeyValue("ip", ClientIp.current())
+                .log("auth");
+    }
+
+    private boolean sampled(AuthAuditEvent event){
+        double rate = switch (event.getCategory()) {
+            case SUCCESS -> successSampleRate;
+            case FAILURE -> failureSampleRate;
+            case REJECTION -> rejectionSampleRate;
+        };
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.testProject.security.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/* 클라이언트 ip 취득 (토큰 ip claim / 감사 로그 공용) */
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    /* ServletRequestAttributes 구현체를 통해 현재 요청의 ip 취득, 요청 밖에서 호출되면 "unknown" */
+    public static String current(){
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return resolve(attributes.getRequest());
+        }
+        return "unknown";
+    }
+
+    /*
+     * ip취득: request.getRemoteAddr() 사용 (X-Forwarded-For를 직접 읽지 않음)
+     * - 클라이언트가 보낸 X-Forwarded-For는 임의 값이므로 요청 제한 / 감사 로그 키로 쓰면 우회 / 위장 가능
+     * - 프록시 뒤에서는 server.forward-headers-strategy=native (Tomcat RemoteIpValve)가
+     *   신뢰 프록시(server.tomcat.remoteip.internal-proxies)에서 온 요청만 X-Forwarded-For로 remoteAddr를 바꿔 줌
+     */
+    public static String resolve(HttpServletRequest request){
+        return request.getRemoteAddr();
+    }
+}
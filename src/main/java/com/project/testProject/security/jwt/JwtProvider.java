@@ -1,149 +1,205 @@
 package com.project.testProject.security.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.testProject.common.JsonSupport;
+import com.project.testProject.model.TokenPayload;
 import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.key.JwtKeyManager;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @Getter
 public class JwtProvider {
 
-    private final Key signingKey;
+    @Getter(AccessLevel.NONE)
+    private final JwtKeyManager keyManager;
+    @Getter(AccessLevel.NONE)
+    private final JwtTokenMinter tokenMinter;
+    @Getter(AccessLevel.NONE)
+    private final JsonSupport jsonSupport;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
     private final String tokenPrefix;
     private final String header;
-    private final ObjectMapper objectMapper;
-
-    public JwtProvider(@Value("${jwt.secret}") String secretKey,
+    @Getter(AccessLevel.NONE)
+    private final JwtParser jwtParser; // 파서는 thread-safe 하므로 기동 시 1회만 생성
+
+    // 서명 / 검증 / 파싱 시간, 거부 사유별 건수 (요청마다 조회하지 않도록 미리 등록)
+    @Getter(AccessLevel.NONE)
+    private final Timer accessSignTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer refreshSignTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer verifyTimer;
+    @Getter(AccessLevel.NONE)
+    private final Timer parseTimer;
+    @Getter(AccessLevel.NONE)
+    private final Map<TokenStatus, Counter> rejectionCounters = new EnumMap<>(TokenStatus.class);
+
+    public JwtProvider(JwtKeyManager keyManager,
+                       JwtTokenMinter tokenMinter,
+                       JsonSupport jsonSupport,
+                       MeterRegistry meterRegistry,
                        @Value("${jwt.expiration}") long accessTokenExpiration,
                        @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
                        @Value("${jwt.token-prefix}") String tokenPrefix,
                        @Value("${jwt.header}") String header){
 
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        this.signingKey = Keys.hmacShaKeyFor(keyBytes); // base64 디코딩한 키를 사용
+        this.keyManager = keyManager;
+        this.tokenMinter = tokenMinter;
+        this.jsonSupport = jsonSupport;
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
         this.header = header;
         this.tokenPrefix = tokenPrefix;
-        this.objectMapper = new ObjectMapper();
+        // 토큰 헤더의 kid로 검증 키를 선택
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(keyManager).build();
+
+        this.accessSignTimer = Timer.builder("auth.jwt.sign").tag("type", "access")
+                .description("토큰 서명(발급) 시간").register(meterRegistry);
+        this.refreshSignTimer = Timer.builder("auth.jwt.sign").tag("type", "refresh")
+                .description("토큰 서명(발급) 시간").register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("토큰 서명 검증 + claims 파싱 시간").register(meterRegistry);
+        this.parseTimer = Timer.builder("auth.jwt.parse")
+                .description("검증 결과 없이 claims만 조회하는 파싱 시간").register(meterRegistry);
+        for (TokenStatus status : TokenStatus.values()) {
+            if (status != TokenStatus.VALID) {
+                rejectionCounters.put(status, Counter.builder("auth.jwt.rejected")
+                        .tag("reason", status.name().toLowerCase())
+                        .description("검증 실패 토큰 수").register(meterRegistry));
+            }
+        }
     }
 
     /* accessToken 생성 */
     public String generateAccessToken(UserDetails userDetails, User user){
-        String authorities = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
-        return Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .claim("userIdx", user.getId())
-                .claim("userId", user.getUserId())
-                .claim("userName", user.getUsername())
-                .claim("role", authorities)
-                .claim("ip", getClientIp())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
+        long start = System.nanoTime();
+        try {
+            return tokenMinter.mint(keyManager.currentKey(), user, joinAuthorities(userDetails), ClientIp.current(),
+                    System.currentTimeMillis(), accessTokenExpiration, null, 0);
+        } finally {
+            accessSignTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
-    /* refreshToken 생성 */
-    public String generateRefreshToken(UserDetails userDetails, User user){
-        String authorities = userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
-        return Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .claim("userIdx", user.getId())
-                .claim("userId", user.getUserId())
-                .claim("userName", user.getUsername())
-                .claim("role", authorities)
-                .claim("ip", getClientIp())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
+    /* refreshToken 생성 (familyId: 로그인 단위 family, generation: 갱신 횟수) */
+    public String generateRefreshToken(UserDetails userDetails, User user, String familyId, int generation){
+        long start = System.nanoTime();
+        try {
+            return tokenMinter.mint(keyManager.currentKey(), user, joinAuthorities(userDetails), ClientIp.current(),
+                    System.currentTimeMillis(), refreshTokenExpiration, familyId, generation);
+        } finally {
+            refreshSignTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /* 권한 목록을 ","로 연결 (대부분 권한이 1개이므로 stream 없이 처리) */
+    private String joinAuthorities(UserDetails userDetails){
+        Collection<? extends GrantedAuthority> authorities = userDetails.getAuthorities();
+        if (authorities.size() == 1) {
+            return authorities.iterator().next().getAuthority();
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (GrantedAuthority authority : authorities) {
+            joiner.add(authority.getAuthority());
+        }
+        return joiner.toString();
     }
 
     /* 토큰에서 사용자 payload (claims) body내용 map으로 추출 */
     public Claims getClaimFromToken(String token){
-
-        // Bearer 접두사 제거
-        if (token.startsWith(tokenPrefix)) { // tokenPrefix == "Bearer "
-            token = token.substring(tokenPrefix.length()).trim();
+        long start = System.nanoTime();
+        try {
+            return jwtParser.parseClaimsJws(stripPrefix(token)).getBody();
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token) // <-- 여기!
-                .getBody();
     }
 
-    /* 토큰에서 원하는 클래스 타입으로 payload body 내용 추출하는 메소드 */
+    /* 토큰에서 원하는 클래스 타입으로 payload body 내용 추출하는 메소드 (TokenPayload는 전용 binder로 직접 대입) */
     public<T> T getPayloadFormToken(String token, Class<T> vo){
         Claims claims = getClaimFromToken(token);
-        return objectMapper.convertValue(claims, vo);
+        if (vo == TokenPayload.class) {
+            return vo.cast(TokenPayloadBinder.bind(claims));
+        }
+        return jsonSupport.convert(claims, vo);
+    }
+
+    /* 리프레시 토큰 여부 (typ claim 기준, typ 없는 이전 토큰은 fid 또는 액세스 토큰보다 긴 유효기간으로 판단) */
+    public boolean isRefreshToken(Claims claims){
+        String type = claims.get("typ", String.class);
+        if (type != null) {
+            return !JwtTokenMinter.TYPE_ACCESS.equals(type);
+        }
+        if (claims.containsKey("fid")) {
+            return true;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return issuedAt == null || expiration == null
+                || expiration.getTime() - issuedAt.getTime() > accessTokenExpiration;
     }
 
     /* 토큰 유효성 검증 */
     public boolean validateToken(String token){
+        return verifyToken(token).isValid();
+    }
+
+    /* 토큰을 1회만 파싱하여 검증 결과와 claims를 함께 반환 */
+    public TokenVerification verifyToken(String token){
+        long start = System.nanoTime();
+        TokenVerification verification = parseAndVerify(token);
+        verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!verification.isValid()) {
+            rejectionCounters.get(verification.getStatus()).increment();
+        }
+        return verification;
+    }
+
+    private TokenVerification parseAndVerify(String token){
+        if (token == null || token.isBlank()) { //토큰 문자열이 비어있거나 null인 경우
+            return TokenVerification.failure(TokenStatus.EMPTY);
+        }
         try {
-            if (token.startsWith(tokenPrefix)) {
-                token = token.substring(tokenPrefix.length()).trim();
-            }
-            Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token);
-            // io.jsonwebtoken.security.SecurityException 또는 MalformedJwtException: 토큰의 서명이 위조되거나 형식이 잘못된 경우 발생합니다.
-            return true;
-        }catch (io.jsonwebtoken.security.SignatureException | MalformedJwtException e){
-            log.info("잘못된 JWT 서명입니다. {}", e.getMessage());
+            return TokenVerification.valid(jwtParser.parseClaimsJws(stripPrefix(token)).getBody());
         }catch (ExpiredJwtException e){ //토큰의 만료 시간이 지난 경우 발생합니다.
-            log.info("만료된 JWT 토큰입니다. {}", e.getMessage());
+            log.debug("만료된 JWT 토큰입니다. {}", e.getMessage());
+            return TokenVerification.failure(TokenStatus.EXPIRED);
+        }catch (io.jsonwebtoken.security.SecurityException e){ //토큰의 서명이 위조된 경우 발생합니다.
+            log.debug("잘못된 JWT 서명입니다. {}", e.getMessage());
+            return TokenVerification.failure(TokenStatus.INVALID_SIGNATURE);
         }catch (UnsupportedJwtException e){ //지원되지 않는 형식의 토큰인 경우 발생합니다.
-            log.info("지원되지 않는 JWT 토큰입니다. {}", e.getMessage());
-        }catch (IllegalArgumentException e){ //토큰 문자열이 비어있거나 null인 경우 발생합니다.
-            log.info("JWT 토큰이 잘못 되었습니다. {}", e.getMessage());
+            log.debug("지원되지 않는 JWT 토큰입니다. {}", e.getMessage());
+            return TokenVerification.failure(TokenStatus.UNSUPPORTED);
+        }catch (JwtException | IllegalArgumentException e){ //형식이 잘못된 경우 발생합니다.
+            log.debug("JWT 토큰이 잘못 되었습니다. {}", e.getMessage());
+            return TokenVerification.failure(TokenStatus.MALFORMED);
         }
-        return false;
     }
 
-    /* ServletRequestAttributes 구현체를 통해 request취득 */
-    private String getClientIp(){
-        return Optional.ofNullable(RequestContextHolder.getRequestAttributes())
-                .filter(ServletRequestAttributes.class::isInstance)
-                .map(attributes -> (ServletRequestAttributes)attributes)
-                .map(ServletRequestAttributes::getRequest)
-                .map(this::extractIpFromRequest)
-                .orElse("unknown");
-    }
-
-    /* ip취득 프록시인경우 x-Forwarded-For을 통해 0번째 ip취득 or 없는 경우 request.getRemoteAddr();를 통해 ip취득 */
-    private String extractIpFromRequest(HttpServletRequest request){
-        //x-Forwarded-For 헤더 확인 있으면 첫번째 IP 없으면 getRemoteAddr()로 IP 취득
-        return Optional.ofNullable(request.getHeader("x-Forwarded-For"))
-                .filter(header -> !header.isEmpty())
-                .map(header -> header.split(",")[0].trim())
-                .orElseGet(request::getRemoteAddr);
+    /* Bearer 접두사 제거 */
+    private String stripPrefix(String token){
+        if (token.startsWith(tokenPrefix)) { // tokenPrefix == "Bearer "
+            return token.substring(tokenPrefix.length()).trim();
+        }
+        return token;
     }
 }
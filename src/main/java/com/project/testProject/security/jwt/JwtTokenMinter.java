@@ -0,0 +1,206 @@
+package com.project.testProject.security.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.testProject.common.JsonSupport;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.key.SigningKey;
+import com.project.testProject.security.role.RoleBitmask;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * 토큰 발급 엔진
+ * - 사용자별 고정 claims(sub, userIdx, userId, userName, role, rm, rh, ver)는 JSON 직렬화 + Base64URL 인코딩을 1회만 하고 템플릿으로 재사용
+ * - 고정 부분 길이를 공백으로 3바이트 배수에 맞추어, 인코딩된 고정 부분 뒤에 가변 부분(typ, jti, ip, iat, exp, 리프레시 토큰 fid/gen)만 인코딩해서 이어 붙임
+ * - 헤더도 kid별로 1회만 인코딩, Mac/Signature는 bounded pool에서 빌려 재사용
+ *   (ThreadLocal은 요청마다 새로 생기는 가상 스레드에서는 재사용되지 않고 매번 생성 + 스레드 수만큼 쌓임)
+ */
+@Component
+public class JwtTokenMinter {
+
+    /* typ claim 값 (리프레시 토큰은 Bearer 인증에 사용 불가) */
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RoleBitmask roleBitmask;
+    private final JsonSupport jsonSupport;
+    private final Cache<Long, ClaimTemplate> templates;
+    private final Map<String, String> encodedHeaders = new ConcurrentHashMap<>();
+    // 동시에 서명 중인 수만큼만 필요 (CPU 작업이므로 코어 수 기준), 비어 있으면 새로 만들고 가득 차 있으면 반납하지 않고 버림
+    private final BlockingQueue<Signer> signers = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    public JwtTokenMinter(RoleBitmask roleBitmask,
+                          JsonSupport jsonSupport,
+                          @Value("${jwt.claim-template-cache.maximum-size:100000}") long maximumSize){
+        this.roleBitmask = roleBitmask;
+        this.jsonSupport = jsonSupport;
+        this.templates = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /* 서명된 compact JWT 생성 (familyId가 null이 아니면 리프레시 토큰 family claims 추가) */
+    public String mint(SigningKey key, User user, String role, String ip, long issuedAtMillis, long expirationMillis,
+                       String familyId, int generation){
+        ClaimTemplate template = template(user, role);
+
+        // 가변 claims: ,"typ":"...","jti":"...","ip":"...","iat":...,"exp":...[,"fid":"...","gen":...]}
+        StringBuilder dynamic = new StringBuilder(144)
+                .append(",\"typ\":\"").append(familyId != null ? TYPE_REFRESH : TYPE_ACCESS).append('"')
+                .append(",\"jti\":\"").append(newTokenId()).append('"')
+                .append(",\"ip\":\"").append(JsonStringEncoder.getInstance().quoteAsString(ip)).append('"')
+                .append(",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append((issuedAtMillis + expirationMillis) / 1000);
+        if (familyId != null) {
+            dynamic.append(",\"fid\":\"").append(JsonStringEncoder.getInstance().quoteAsString(familyId)).append('"')
+                    .append(",\"gen\":").append(generation);
+        }
+        dynamic.append('}');
+
+        String signingInput = encodedHeader(key) + '.' + template.encodedPrefix
+                + BASE64_URL.encodeToString(dynamic.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = sign(key, signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64_URL.encodeToString(signature);
+    }
+
+    private byte[] sign(SigningKey key, byte[] input){
+        Signer signer = signers.poll();
+        if (signer == null) {
+            signer = new Signer();
+        }
+        byte[] signature = signer.sign(key, input); // 실패한 Signer는 상태를 알 수 없으므로 반납하지 않음
+        signers.offer(signer);
+        return signature;
+    }
+
+    /* 토큰 식별자 (폐기 목록 키), 128bit 난수 Base64URL 22자 */
+    private static String newTokenId(){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] bytes = ByteBuffer.allocate(16).putLong(random.nextLong()).putLong(random.nextLong()).array();
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    /* 사용자 정보가 바뀌지 않았으면 캐시된 템플릿 재사용 */
+    private ClaimTemplate template(User user, String role){
+        ClaimTemplate cached = templates.getIfPresent(user.getId());
+        if (cached != null && cached.matches(user, role)) {
+            return cached;
+        }
+        ClaimTemplate created = new ClaimTemplate(user, role, encodePrefix(user, role));
+        templates.put(user.getId(), created);
+        return created;
+    }
+
+    private String encodePrefix(User user, String role){
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", String.valueOf(user.getId()));
+        claims.put("userIdx", user.getId());
+        claims.put("userId", user.getUserId());
+        claims.put("userName", user.getUsername());
+        claims.put("role", role);
+        long roleMask = roleBitmask.maskOf(role);
+        if (roleMask != RoleBitmask.UNKNOWN) {
+            // 역할 마스크 + 계층 fingerprint (계층에 없는 역할이 있으면 role 문자열만 사용)
+            claims.put("rm", roleMask);
+            claims.put("rh", roleBitmask.fingerprint());
+        }
+        claims.put("ver", user.getTokenVersion());
+        try {
+            String json = jsonSupport.toJson(claims);
+            StringBuilder prefix = new StringBuilder(json.substring(0, json.length() - 1)); // 마지막 '}' 제거
+            int length = prefix.toString().getBytes(StandardCharsets.UTF_8).length;
+            // JSON 공백으로 3바이트 배수 정렬 -> Base64 경계가 맞아 뒤에 이어 붙여도 전체 인코딩과 동일
+            prefix.append(" ".repeat((3 - length % 3) % 3));
+            return BASE64_URL.encodeToString(prefix.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("토큰 claims 직렬화 실패", e);
+        }
+    }
+
+    private String encodedHeader(SigningKey key){
+        return encodedHeaders.computeIfAbsent(key.getKid(), kid -> {
+            String json = "{\"kid\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(kid))
+                    + "\",\"alg\":\"" + key.getAlgorithm().getValue() + "\"}";
+            return BASE64_URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    private static final class ClaimTemplate {
+        private final String userId;
+        private final String userName;
+        private final String role;
+        private final int tokenVersion;
+        private final String encodedPrefix;
+
+        private ClaimTemplate(User user, String role, String encodedPrefix){
+            this.userId = user.getUserId();
+            this.userName = user.getUsername();
+            this.role = role;
+            this.tokenVersion = user.getTokenVersion();
+            this.encodedPrefix = encodedPrefix;
+        }
+
+        private boolean matches(User user, String role){
+            return Objects.equals(userId, user.getUserId())
+                    && Objects.equals(userName, user.getUsername())
+                    && Objects.equals(this.role, role)
+                    && tokenVersion == user.getTokenVersion();
+        }
+    }
+
+    /* pool에서 한 번에 한 스레드만 사용하는 Mac/Signature (키가 바뀐 경우에만 다시 init) */
+    private static final class Signer {
+        private Key key;
+        private Mac mac;
+        private Signature signature;
+
+        private byte[] sign(SigningKey signingKey, byte[] input){
+            try {
+                Key privateKey = signingKey.getPrivateKey();
+                SignatureAlgorithm algorithm = signingKey.getAlgorithm();
+                if (algorithm.isHmac()) {
+                    if (mac == null || key != privateKey) {
+                        mac = Mac.getInstance(algorithm.getJcaName());
+                        mac.init(privateKey);
+                        signature = null;
+                        key = privateKey;
+                    }
+                    return mac.doFinal(input);
+                }
+                if (signature == null || key != privateKey) {
+                    // ES256은 JWS 규격(R||S 64바이트) 형식으로 바로 서명
+                    signature = Signature.getInstance(algorithm.isEllipticCurve()
+                            ? "SHA256withECDSAinP1363Format"
+                            : algorithm.getJcaName());
+                    signature.initSign((PrivateKey) privateKey);
+                    mac = null;
+                    key = privateKey;
+                }
+                signature.update(input);
+                return signature.sign();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("토큰 서명 실패", e);
+            }
+        }
+    }
+}
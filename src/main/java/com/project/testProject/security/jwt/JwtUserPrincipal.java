@@ -0,0 +1,60 @@
+package com.project.testProject.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/* 검증된 토큰 claims만으로 만드는 경량 principal (DB 조회 없음) */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+    private final Long userIdx;
+    private final String userId;
+    private final String userName;
+    private final String role;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final long expiresAt; // 토큰 만료 시각 (epoch millis)
+    private final String tokenId; // jti (폐기 목록 확인용)
+    private final long issuedAt; // 토큰 발급 시각 (epoch millis, 사용자 전체 로그아웃 기준 시각과 비교)
+    private final int tokenVersion; // 발급 시점 사용자 토큰 버전 (ver claim)
+    private final long roleMask; // 하위 역할까지 포함한 역할 비트 (RoleBitmask.closure)
+
+    public static JwtUserPrincipal from(Claims claims, Collection<? extends GrantedAuthority> authorities, long roleMask){
+        return new JwtUserPrincipal(
+                claims.get("userIdx", Long.class),
+                claims.get("userId", String.class),
+                claims.get("userName", String.class),
+                claims.get("role", String.class),
+                authorities,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L, // exp 없는 토큰은 캐시하지 않음
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                tokenVersion(claims),
+                roleMask
+        );
+    }
+
+    /* ver claim 없는 기존 토큰은 버전 0 */
+    public static int tokenVersion(Claims claims){
+        Integer version = claims.get("ver", Integer.class);
+        return version != null ? version : 0;
+    }
+
+    /* CustomUserDetailService와 동일하게 username 자리에는 사용자 idx를 사용 */
+    @Override
+    public String getUsername() {
+        return String.valueOf(userIdx);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
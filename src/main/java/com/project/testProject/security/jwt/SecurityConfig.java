@@ -4,19 +4,18 @@ package com.project.testProject.security.jwt;
 import com.project.testProject.security.jwt.filter.JwtAccessDeniedHandler;
 import com.project.testProject.security.jwt.filter.JwtAuthenticationEntryPoint;
 import com.project.testProject.security.jwt.filter.JwtAuthenticationFilter;
+import com.project.testProject.security.role.RoleBitmask;
+import com.project.testProject.security.route.RouteAuthorizationManager;
+import com.project.testProject.security.route.RoutePolicy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.expression.DefaultWebSecurityExpressionHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,19 +28,8 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-
-
-
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
-    }
-
-    // AuthenticationConfiguration을 사용해 AuthenticationManager를 빈으로 등록
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
-    }
+    private final RoutePolicy routePolicy;
+    private final RoleBitmask roleBitmask;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
@@ -54,30 +42,16 @@ public class SecurityConfig {
                     .accessDeniedHandler(jwtAccessDeniedHandler)
             )
             .authorizeHttpRequests(authorize -> authorize
-                    .requestMatchers("/api/test/**").permitAll()
-                    .requestMatchers("/api/register/**").permitAll()
-                    .requestMatchers("/api/login/**").permitAll()
-                    .requestMatchers("/api/auth/**").permitAll()
-                    .requestMatchers("/api/path/admin").hasRole("ADMIN")
-                    .requestMatchers("/api/path/manager").hasRole("MANAGER")
-                    .requestMatchers("/api/path/user").hasRole("USER")
-                    .anyRequest().authenticated()
+                    .anyRequest().access(new RouteAuthorizationManager(routePolicy, roleBitmask)) // 경로별 규칙은 RoutePolicyConfig
             ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public RoleHierarchy roleHierarchy(){
-        //계층 정의 ROLE_ADMIN > ROLE_MANAGER > ROLE_USER 포함 형식
-        String hierarchy = "ROLE_ADMIN > ROLE_MANAGER > ROLE_USER";
-        return RoleHierarchyImpl.fromHierarchy(hierarchy);
-    }
-
-    @Bean
-    public DefaultWebSecurityExpressionHandler webExpressionHandler(){
+    public DefaultWebSecurityExpressionHandler webExpressionHandler(RoleHierarchy roleHierarchy){
         DefaultWebSecurityExpressionHandler expressionHandler = new DefaultWebSecurityExpressionHandler();
-        expressionHandler.setRoleHierarchy(roleHierarchy());
+        expressionHandler.setRoleHierarchy(roleHierarchy);
         return expressionHandler;
     }
 
@@ -0,0 +1,49 @@
+package com.project.testProject.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/* 토큰 SHA-256 해시 (저장/캐시 키용, 원본 토큰은 보관하지 않음) */
+public final class TokenHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    /*
+     * MessageDigest bounded pool (ThreadLocal은 가상 스레드마다 새로 생성되어 재사용되지 않음)
+     * 비어 있으면 새로 만들고 가득 차 있으면 버림 -> 동시 사용 수가 많아도 코어 수 * 2 개까지만 보관
+     */
+    private static final BlockingQueue<MessageDigest> SHA_256 = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    private TokenHasher() {
+    }
+
+    public static byte[] sha256(String token){
+        // jwt는 Base64URL + '.' 문자만 포함하므로 ASCII로 인코딩
+        MessageDigest digest = SHA_256.poll();
+        if (digest == null) {
+            digest = newDigest();
+        }
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII)); // digest()는 완료 후 reset
+        SHA_256.offer(digest);
+        return hash;
+    }
+
+    private static MessageDigest newDigest(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* 저장된 해시와 토큰 비교 (MessageDigest.isEqual: 길이가 같으면 상수 시간 비교) */
+    public static boolean matches(byte[] storedHash, String token){
+        if (storedHash == null || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(storedHash, sha256(token));
+    }
+}
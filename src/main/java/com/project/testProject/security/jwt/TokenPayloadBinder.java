@@ -0,0 +1,21 @@
+package com.project.testProject.security.jwt;
+
+import com.project.testProject.model.TokenPayload;
+import io.jsonwebtoken.Claims;
+
+/* 검증된 claims -> TokenPayload 직접 대입 (중간 JSON 트리 / 리플렉션 없음) */
+final class TokenPayloadBinder {
+
+    private TokenPayloadBinder() {
+    }
+
+    static TokenPayload bind(Claims claims){
+        TokenPayload payload = new TokenPayload();
+        payload.setSubject(claims.getSubject());
+        payload.setUserIdx(claims.get("userIdx", Long.class));
+        payload.setUserId(claims.get("userId", String.class));
+        payload.setRole(claims.get("role", String.class));
+        payload.setIp(claims.get("ip", String.class));
+        return payload;
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.testProject.security.jwt;
+
+/* 토큰 검증 결과 상태 */
+public enum TokenStatus {
+    VALID,              // 서명/만료 모두 정상
+    EXPIRED,            // 만료 시간이 지난 토큰
+    INVALID_SIGNATURE,  // 서명이 위조되었거나 키가 맞지 않는 토큰
+    MALFORMED,          // 구조가 잘못된 토큰
+    UNSUPPORTED,        // 지원하지 않는 형식의 토큰 (ex. 서명 없는 jwt)
+    EMPTY               // 토큰 문자열이 비어있거나 null
+}
@@ -0,0 +1,41 @@
+package com.project.testProject.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/* 토큰 1회 파싱 결과 (상태 + 검증된 claims) */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenVerification {
+
+    /* 실패 결과는 claims가 없으므로 상태별 인스턴스를 재사용 */
+    private static final TokenVerification EXPIRED = new TokenVerification(TokenStatus.EXPIRED, null);
+    private static final TokenVerification INVALID_SIGNATURE = new TokenVerification(TokenStatus.INVALID_SIGNATURE, null);
+    private static final TokenVerification MALFORMED = new TokenVerification(TokenStatus.MALFORMED, null);
+    private static final TokenVerification UNSUPPORTED = new TokenVerification(TokenStatus.UNSUPPORTED, null);
+    private static final TokenVerification EMPTY = new TokenVerification(TokenStatus.EMPTY, null);
+
+    private final TokenStatus status;
+    private final Claims claims;
+
+    public static TokenVerification valid(Claims claims){
+        return new TokenVerification(TokenStatus.VALID, claims);
+    }
+
+    public static TokenVerification failure(TokenStatus status){
+        return switch (status) {
+            case EXPIRED -> EXPIRED;
+            case INVALID_SIGNATURE -> INVALID_SIGNATURE;
+            case MALFORMED -> MALFORMED;
+            case UNSUPPORTED -> UNSUPPORTED;
+            case EMPTY -> EMPTY;
+            case VALID -> throw new IllegalArgumentException("VALID 결과는 claims가 필요합니다.");
+        };
+    }
+
+    public boolean isValid(){
+        return status == TokenStatus.VALID;
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.testProject.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 서명 검증이 끝난 토큰의 principal 캐시
+ * - key: 원본 토큰 문자열이 아닌 SHA-256 해시 앞 128bit (long 2개)
+ * - value: claims로 만든 JwtUserPrincipal, 토큰 exp 시각이 지나면 자동 제거
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<TokenKey, JwtUserPrincipal> cache; // 비활성화 시 null
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.verified-cache.maximum-size:100000}") long maximumSize,
+                              MeterRegistry meterRegistry){
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedToken");
+    }
+
+    public boolean isEnabled(){
+        return cache != null;
+    }
+
+    /* 캐시에 검증된 결과가 있으면 반환, 없으면 null */
+    public JwtUserPrincipal get(String token){
+        if (cache == null) {
+            return null;
+        }
+        return cache.getIfPresent(keyOf(token));
+    }
+
+    public void put(String token, JwtUserPrincipal principal){
+        if (cache == null || principal.getExpiresAt() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(keyOf(token), principal);
+    }
+
+    private static TokenKey keyOf(String token){
+        byte[] digest = TokenHasher.sha256(token);
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new TokenKey(buffer.getLong(0), buffer.getLong(8));
+    }
+
+    private record TokenKey(long high, long low) {
+    }
+
+    /* 항목 수명 = 토큰 exp까지 남은 시간 */
+    private static class TokenExpiry implements Expiry<TokenKey, JwtUserPrincipal> {
+        @Override
+        public long expireAfterCreate(TokenKey key, JwtUserPrincipal value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getExpiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenKey key, JwtUserPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenKey key, JwtUserPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.testProject.security.jwt.filter;
+
+import com.project.testProject.security.jwt.TokenStatus;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+/*
+ * 인증 / 인가 거부 사유 (401 / 403 응답의 reason, 감사 로그 reason)
+ * - JwtAuthenticationFilter가 request attribute로 남기고 entry point / access denied handler가 응답에 사용
+ * - BAD_CREDENTIALS는 로그인 실패 (GlobalExceptionHandler)
+ */
+@Getter
+public enum AuthRejectionReason {
+    MISSING_TOKEN(HttpServletResponse.SC_UNAUTHORIZED, "인증되지 않은 사용자 입니다."),
+    BAD_CREDENTIALS(HttpServletResponse.SC_UNAUTHORIZED, "아이디 또는 비밀번호가 일치하지 않습니다."),
+    EXPIRED(HttpServletResponse.SC_UNAUTHORIZED, "만료된 토큰입니다."),
+    INVALID_SIGNATURE(HttpServletResponse.SC_UNAUTHORIZED, "잘못된 토큰 서명입니다."),
+    MALFORMED(HttpServletResponse.SC_UNAUTHORIZED, "잘못된 형식의 토큰입니다."),
+    UNSUPPORTED(HttpServletResponse.SC_UNAUTHORIZED, "지원되지 않는 토큰입니다."),
+    REVOKED(HttpServletResponse.SC_UNAUTHORIZED, "로그아웃 처리된 토큰입니다."),
+    WRONG_TOKEN_TYPE(HttpServletResponse.SC_UNAUTHORIZED, "액세스 토큰이 아닙니다."),
+    STALE_VERSION(HttpServletResponse.SC_UNAUTHORIZED, "비밀번호 또는 권한이 변경되어 다시 로그인이 필요합니다."),
+    INSUFFICIENT_ROLE(HttpServletResponse.SC_FORBIDDEN, "권한이 부족합니다.");
+
+    /* request attribute 이름 */
+    public static final String ATTRIBUTE = AuthRejectionReason.class.getName();
+
+    private final int status;
+    private final String message;
+
+    AuthRejectionReason(int status, String message){
+        this.status = status;
+        this.message = message;
+    }
+
+    /* 응답 / 로그용 소문자 코드 */
+    public String code(){
+        return name().toLowerCase();
+    }
+
+    public static AuthRejectionReason from(TokenStatus status){
+        return switch (status) {
+            case EXPIRED -> EXPIRED;
+            case INVALID_SIGNATURE -> INVALID_SIGNATURE;
+            case MALFORMED -> MALFORMED;
+            case UNSUPPORTED -> UNSUPPORTED;
+            case VALID, EMPTY -> MISSING_TOKEN;
+        };
+    }
+}
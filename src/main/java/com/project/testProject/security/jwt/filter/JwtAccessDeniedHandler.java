@@ -3,6 +3,7 @@ package com.project.testProject.security.jwt.filter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
@@ -10,9 +11,14 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 
 @Component
+@RequiredArgsConstructor
 public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    private final SecurityErrorResponseWriter errorResponseWriter;
+
+    /* 인증은 되었으나 경로에 필요한 역할이 없음 -> 403 */
     @Override
     public void handle(HttpServletRequest request, HttpServletResponse response, AccessDeniedException accessDeniedException) throws IOException, ServletException {
-        response.sendError(HttpServletResponse.SC_FORBIDDEN, "권한이 부족합니다.");
+        errorResponseWriter.write(response, AuthRejectionReason.INSUFFICIENT_ROLE);
     }
 }
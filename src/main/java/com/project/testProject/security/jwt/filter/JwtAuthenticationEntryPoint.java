@@ -3,6 +3,8 @@ package com.project.testProject.security.jwt.filter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -10,9 +12,17 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    private final SecurityErrorResponseWriter errorResponseWriter;
+
+    /* 토큰 없음 / 검증 실패 / 폐기된 토큰 -> 401 (사유는 JwtAuthenticationFilter가 기록), 자격 증명 실패는 bad_credentials */
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
-        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "인증되지 않은 사용자 입니다.");
+        AuthRejectionReason defaultReason = authException instanceof BadCredentialsException
+                ? AuthRejectionReason.BAD_CREDENTIALS
+                : AuthRejectionReason.MISSING_TOKEN;
+        errorResponseWriter.write(response, errorResponseWriter.reasonOf(request, defaultReason));
     }
 }
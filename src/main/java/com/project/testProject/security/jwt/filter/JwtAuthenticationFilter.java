@@ -1,14 +1,24 @@
 package com.project.testProject.security.jwt.filter;
 
 
+import com.project.testProject.security.audit.AuthAuditEvent;
+import com.project.testProject.security.audit.AuthAuditLogger;
 import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.JwtUserPrincipal;
+import com.project.testProject.security.jwt.TokenVerification;
+import com.project.testProject.security.jwt.VerifiedTokenCache;
+import com.project.testProject.security.jwt.revocation.TokenRevocationList;
+import com.project.testProject.security.jwt.version.TokenVersionRegistry;
+import com.project.testProject.security.role.RoleBitmask;
+import com.project.testProject.security.route.RoutePolicy;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,51 +33,163 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
-@Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final AuthAuditLogger authAuditLogger;
+    private final RoutePolicy routePolicy;
+    private final RoleBitmask roleBitmask;
+    private final boolean loadUserFromDb; // true인 경우에만 요청마다 DB에서 사용자 조회
+
+    // 필터 자체 처리 시간 (다음 필터 / 컨트롤러 시간 제외), 인증 결과별
+    private final Timer authenticatedTimer;
+    private final Timer anonymousTimer;
+    private final Timer userLoadTimer;
+
+    public JwtAuthenticationFilter(JwtProvider jwtProvider,
+                                   UserDetailsService userDetailsService,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   TokenRevocationList tokenRevocationList,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   AuthAuditLogger authAuditLogger,
+                                   RoutePolicy routePolicy,
+                                   RoleBitmask roleBitmask,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${jwt.load-user-from-db:false}") boolean loadUserFromDb){
+        this.jwtProvider = jwtProvider;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.authAuditLogger = authAuditLogger;
+        this.routePolicy = routePolicy;
+        this.roleBitmask = roleBitmask;
+        this.loadUserFromDb = loadUserFromDb;
+        this.authenticatedTimer = Timer.builder("auth.filter").tag("result", "authenticated")
+                .description("JWT 인증 필터 처리 시간").register(meterRegistry);
+        this.anonymousTimer = Timer.builder("auth.filter").tag("result", "anonymous")
+                .description("JWT 인증 필터 처리 시간").register(meterRegistry);
+        this.userLoadTimer = Timer.builder("auth.filter.user_load")
+                .description("DB principal 모드 사용자 조회 시간").register(meterRegistry);
+    }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
-        String path = request.getRequestURI();
-        boolean skip = path.startsWith("/api/test") || path.startsWith("/api/register") || path.startsWith("/api/login") || path.startsWith("/api/auth");
-        log.info("shouldNotFilter {}? {}", path, skip);
-        return skip;
+        return routePolicy.match(request).isPublic(); // 인증 없이 접근 가능한 경로는 토큰 검증 생략
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean authenticated = authenticate(request);
+        (authenticated ? authenticatedTimer : anonymousTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        filterChain.doFilter(request, response);
+    }
+
+    /* 토큰이 유효하면 SecurityContext에 인증 객체 저장 */
+    private boolean authenticate(HttpServletRequest request){
         String token = resolveToken(request);
-        log.info("Authorization 헤더 토큰: {}", token); // 토큰이 실제로 들어오는지 확인
-
-        if(token != null && jwtProvider.validateToken(token)){
-            //토근에서 페이로드(클레임)을 추출 사용자 정보와 권한 직접 가져옴.
-            Claims claims = jwtProvider.getClaimFromToken(token);
-            String userId = claims.getSubject();
-            log.info("userId={}", userId);
-            String roles = claims.get("role", String.class);
-
-            //권한 문자열을 SimpleGrantedAuthority 객체 컬렉션으로 변환
-            Collection<? extends GrantedAuthority> authorities = List.of();
-            if (roles != null && !roles.isBlank()) {
-                authorities = Arrays.stream(roles.split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-            }
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+
+        JwtUserPrincipal principal = resolvePrincipal(request, token);
+        //로그아웃 / 비밀번호·권한 변경으로 폐기된 토큰은 인증하지 않음 (메모리 폐기 목록 / 토큰 버전만 확인)
+        if(principal != null && tokenVersionRegistry.isStale(principal.getUserIdx(), principal.getTokenVersion())){
+            reject(request, principal.getUserIdx(), AuthRejectionReason.STALE_VERSION);
+            principal = null;
+        }
+        if(principal != null && tokenRevocationList.isRevoked(principal)){
+            reject(request, principal.getUserIdx(), AuthRejectionReason.REVOKED);
+            principal = null;
+        }
+        if(principal != null){
+            //기본은 claims로 만든 principal 사용, DB 모드인 경우에만 사용자 조회
+            UserDetails userDetails = loadUserFromDb
+                    ? loadUser(principal.getUsername())
+                    : principal;
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, authorities
+                    userDetails, null, principal.getAuthorities()
             );
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            return true;
         }
-        filterChain.doFilter(request, response);
+        return false;
+    }
+
+    /* 거부 사유 기록 (감사 로그 + 401 응답 본문의 reason) */
+    private void reject(HttpServletRequest request, Long userIdx, AuthRejectionReason reason){
+        request.setAttribute(AuthRejectionReason.ATTRIBUTE, reason);
+        authAuditLogger.record(AuthAuditEvent.TOKEN_REJECTED, userIdx, reason.name());
+    }
+
+    private UserDetails loadUser(String username){
+        long start = System.nanoTime();
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } finally {
+            userLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /* 검증 캐시 확인 후 없으면 서명 검증하여 claims로 principal 생성 */
+    private JwtUserPrincipal resolvePrincipal(HttpServletRequest request, String token){
+        if(token == null){
+            return null;
+        }
+        JwtUserPrincipal cached = verifiedTokenCache.get(token);
+        if(cached != null){
+            return cached;
+        }
+
+        TokenVerification verification = jwtProvider.verifyToken(token);
+        if(!verification.isValid()){
+            reject(request, null, AuthRejectionReason.from(verification.getStatus()));
+            return null;
+        }
+        //검증 시 함께 파싱된 페이로드(클레임)에서 사용자 정보와 권한 직접 가져옴.
+        Claims claims = verification.getClaims();
+        if (jwtProvider.isRefreshToken(claims)) {
+            //리프레시 토큰은 갱신 요청에만 사용 (로그아웃 후에도 유효기간 동안 API 인증에 쓰이지 않도록)
+            reject(request, claims.get("userIdx", Long.class), AuthRejectionReason.WRONG_TOKEN_TYPE);
+            return null;
+        }
+        if (claims.get("userIdx", Long.class) == null) {
+            //사용자 idx 없는 토큰은 폐기 목록 / 토큰 버전을 확인할 수 없으므로 거부 (401)
+            reject(request, null, AuthRejectionReason.MALFORMED);
+            return null;
+        }
+        Long roleMask = claims.get("rm", Long.class);
+        Integer roleFingerprint = claims.get("rh", Integer.class);
+
+        Collection<? extends GrantedAuthority> authorities;
+        long grantedMask;
+        if (roleMask != null && roleFingerprint != null && roleFingerprint == roleBitmask.fingerprint()) {
+            //역할 마스크 -> 공유 권한 목록 (문자열 분리 / 객체 생성 없음)
+            grantedMask = roleMask;
+            authorities = roleBitmask.authorities(grantedMask);
+        } else {
+            //rm claim 없는 기존 토큰 / 계층이 바뀐 뒤의 토큰은 권한 문자열을 SimpleGrantedAuthority 객체 컬렉션으로 변환
+            authorities = parseAuthorities(claims.get("role", String.class));
+            grantedMask = roleBitmask.knownMask(authorities);
+        }
+
+        JwtUserPrincipal principal = JwtUserPrincipal.from(claims, authorities, roleBitmask.closure(grantedMask));
+        verifiedTokenCache.put(token, principal);
+        return principal;
+    }
+
+    private static Collection<? extends GrantedAuthority> parseAuthorities(String roles){
+        if (roles == null || roles.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .toList(); // 캐시에 보관될 수 있으므로 불변 리스트
     }
 
     private String resolveToken(HttpServletRequest request){
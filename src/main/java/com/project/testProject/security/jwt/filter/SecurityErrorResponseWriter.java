@@ -0,0 +1,54 @@
+package com.project.testProject.security.jwt.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.project.testProject.common.ErrorResponse;
+import com.project.testProject.common.JsonSupport;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * 401 / 403 응답 본문을 거부 사유별로 기동 시 1회 직렬화해 두고 그대로 출력
+ * - sendError 대신 직접 작성 -> /error 재디스패치(필터 체인 + 에러 컨트롤러 재실행) 없음
+ */
+@Component
+public class SecurityErrorResponseWriter {
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    private final Map<AuthRejectionReason, byte[]> bodies = new EnumMap<>(AuthRejectionReason.class);
+
+    public SecurityErrorResponseWriter(JsonSupport jsonSupport){
+        for (AuthRejectionReason reason : AuthRejectionReason.values()) {
+            try {
+                bodies.put(reason, jsonSupport.toJsonBytes(
+                        new ErrorResponse(reason.getMessage(), String.valueOf(reason.getStatus()), reason.code())));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("보안 오류 응답 직렬화 실패: " + reason, e);
+            }
+        }
+    }
+
+    /* 필터가 남긴 거부 사유, 없으면 기본 사유 */
+    public AuthRejectionReason reasonOf(HttpServletRequest request, AuthRejectionReason defaultReason){
+        Object reason = request.getAttribute(AuthRejectionReason.ATTRIBUTE);
+        return reason instanceof AuthRejectionReason rejectionReason ? rejectionReason : defaultReason;
+    }
+
+    public void write(HttpServletResponse response, AuthRejectionReason reason) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        byte[] body = bodies.get(reason);
+        response.setStatus(reason.getStatus());
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+    }
+}
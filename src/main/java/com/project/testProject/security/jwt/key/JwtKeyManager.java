@@ -0,0 +1,255 @@
+package com.project.testProject.security.jwt.key;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.project.testProject.common.JsonSupport;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * JWT 서명 키 관리
+ * - jwt.algorithm: HS256(기본, jwt.secret 사용) / RS256 / ES256
+ * - 토큰 헤더의 kid로 검증 키 선택, kid 없는 기존 토큰 / kid "hs256" 토큰은 jwt.secret 키로 검증
+ *   (RS256/ES256 모드에서는 jwt.legacy-hmac.accept-until 이전까지만, 미지정 시 거부 -> 공유 secret으로 만든 토큰을 계속 받지 않도록)
+ * - 비대칭 키는 주기적으로 교체(rotation)하고 이전 키는 보관 기간 동안 검증용으로 유지
+ * - 공개키는 JWKS 문서로 제공 (리소스 서버가 직접 검증)
+ */
+@Slf4j
+@Component
+public class JwtKeyManager extends SigningKeyResolverAdapter {
+
+    private static final String HMAC_KID = "hs256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SignatureAlgorithm algorithm;
+    private final Key hmacKey; // kid 없는 / kid "hs256" 토큰 검증용
+    private final Instant legacyHmacAcceptUntil; // 비대칭 모드에서 HS256 토큰 허용 종료 시각 (null이면 허용 안 함)
+    private final boolean rotationEnabled;
+    private final Duration retention;
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+    private final JsonSupport jsonSupport;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private volatile SigningKey current;
+    private volatile Jwks jwks;
+
+    public JwtKeyManager(JsonSupport jsonSupport,
+                         @Value("${jwt.secret}") String secretKey,
+                         @Value("${jwt.algorithm:HS256}") String algorithm,
+                         @Value("${jwt.key-id:}") String keyId,
+                         @Value("${jwt.private-key:}") String privateKey,
+                         @Value("${jwt.public-key:}") String publicKey,
+                         @Value("${jwt.key-rotation.enabled:false}") boolean rotationEnabled,
+                         @Value("${jwt.key-rotation.retention-ms:${jwt.refresh-expiration}}") long retentionMillis,
+                         @Value("${jwt.legacy-hmac.accept-until:}") String legacyHmacAcceptUntil){
+
+        this.jsonSupport = jsonSupport; // activate -> buildJwks 에서 사용하므로 먼저 설정
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.hmacKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)); // base64 디코딩한 키를 사용
+        this.retention = Duration.ofMillis(retentionMillis);
+        this.legacyHmacAcceptUntil = StringUtils.hasText(legacyHmacAcceptUntil) ? Instant.parse(legacyHmacAcceptUntil.trim()) : null;
+
+        if (this.algorithm == SignatureAlgorithm.HS256) {
+            // 대칭키는 모든 서버가 같은 secret을 써야 하므로 교체하지 않음
+            this.rotationEnabled = false;
+            activate(new SigningKey(HMAC_KID, this.algorithm, hmacKey, hmacKey, Instant.now()));
+        } else if (this.algorithm == SignatureAlgorithm.RS256 || this.algorithm == SignatureAlgorithm.ES256) {
+            this.rotationEnabled = rotationEnabled;
+            activate(StringUtils.hasText(privateKey)
+                    ? loadKey(keyId, privateKey, publicKey)
+                    : generateKey());
+            if (this.legacyHmacAcceptUntil != null) {
+                log.warn("HS256 토큰을 {} 까지 jwt.secret으로 검증합니다 (jwt.legacy-hmac.accept-until)", this.legacyHmacAcceptUntil);
+            }
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 서명 알고리즘입니다: " + algorithm);
+        }
+    }
+
+    /* 현재 서명에 사용할 키 */
+    public SigningKey currentKey(){
+        return current;
+    }
+
+    /* 파서가 토큰 헤더(kid, alg)를 읽은 뒤 검증 키를 요청할 때 호출 */
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null || HMAC_KID.equals(kid)) {
+            return legacyHmacKey(kid);
+        }
+        SigningKey key = keys.get(kid);
+        if (key == null) {
+            throw new SignatureException("알 수 없는 kid 입니다: " + kid);
+        }
+        return key.getPublicKey();
+    }
+
+    /* HS256 모드는 항상, 비대칭 모드는 전환 기간(accept-until 이전)에만 jwt.secret 키 사용 */
+    private Key legacyHmacKey(String kid){
+        if (algorithm == SignatureAlgorithm.HS256) {
+            return hmacKey;
+        }
+        if (legacyHmacAcceptUntil != null && Instant.now().isBefore(legacyHmacAcceptUntil)) {
+            return hmacKey;
+        }
+        throw new SignatureException("HS256 토큰은 허용되지 않습니다. kid=" + kid);
+    }
+
+    /* 비대칭 키 주기적 교체 */
+    @Scheduled(fixedDelayString = "${jwt.key-rotation.interval-ms:86400000}",
+               initialDelayString = "${jwt.key-rotation.interval-ms:86400000}")
+    public void scheduledRotate(){
+        if (rotationEnabled) {
+            rotate();
+        }
+    }
+
+    public synchronized void rotate(){
+        if (!current.isAsymmetric()) {
+            return;
+        }
+        activate(generateKey());
+        log.info("JWT 서명 키 교체 완료 kid={}", current.getKid());
+    }
+
+    /* JWKS 문서 (키 변경 시에만 다시 생성) */
+    public Jwks jwks(){
+        return jwks;
+    }
+
+    private synchronized void activate(SigningKey next){
+        Instant now = Instant.now();
+        SigningKey previous = this.current;
+        if (previous != null) {
+            previous.retire(now);
+        }
+        keys.put(next.getKid(), next);
+        this.current = next;
+
+        // 보관 기간이 지난 이전 키 제거 (해당 키로 서명된 토큰은 이미 모두 만료됨)
+        keys.values().removeIf(key -> key.getRetiredAt() != null && key.getRetiredAt().plus(retention).isBefore(now));
+        this.jwks = buildJwks();
+    }
+
+    private SigningKey generateKey(){
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        return new SigningKey(newKid(), algorithm, keyPair.getPrivate(), keyPair.getPublic(), Instant.now());
+    }
+
+    /* 여러 서버가 같은 키를 써야 하는 경우 설정값(base64 PKCS#8 / X.509)으로 키 지정 */
+    private SigningKey loadKey(String keyId, String privateKey, String publicKey){
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.isEllipticCurve() ? "EC" : "RSA");
+            PrivateKey priv = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(privateKey)));
+            PublicKey pub = keyFactory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(publicKey)));
+            String kid = StringUtils.hasText(keyId) ? keyId : thumbprint(pub);
+            return new SigningKey(kid, algorithm, priv, pub, Instant.now());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("jwt.private-key / jwt.public-key 를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private String newKid(){
+        byte[] bytes = new byte[9];
+        secureRandom.nextBytes(bytes);
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private Jwks buildJwks(){
+        List<Map<String, String>> jwkList = new ArrayList<>();
+        for (SigningKey key : keys.values()) {
+            if (key.isAsymmetric()) { // 대칭키는 절대 공개하지 않음
+                jwkList.add(toJwk(key));
+            }
+        }
+        try {
+            String json = jsonSupport.toJson(Map.of("keys", jwkList));
+            return new Jwks(json, "\"" + sha256Hex(json).substring(0, 32) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("JWKS 생성 실패", e);
+        }
+    }
+
+    private Map<String, String> toJwk(SigningKey key){
+        Map<String, String> jwk = new LinkedHashMap<>();
+        PublicKey publicKey = (PublicKey) key.getPublicKey();
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+        }
+        jwk.put("kid", key.getKid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.getAlgorithm().getValue());
+        return jwk;
+    }
+
+    /* 부호 바이트를 제거한 big-endian 값 (length > 0이면 앞쪽을 0으로 채워 고정 길이) */
+    private static String base64Url(BigInteger value, int length){
+        byte[] bytes = value.toByteArray();
+        int offset = (bytes.length > 1 && bytes[0] == 0) ? 1 : 0;
+        int size = bytes.length - offset;
+        byte[] out = new byte[Math.max(size, length)];
+        System.arraycopy(bytes, offset, out, out.length - size, size);
+        return BASE64_URL.encodeToString(out);
+    }
+
+    private static String thumbprint(PublicKey publicKey){
+        return BASE64_URL.encodeToString(sha256(publicKey.getEncoded())).substring(0, 12);
+    }
+
+    private static String sha256Hex(String value){
+        return HexFormat.of().formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] value){
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /* 직렬화된 JWKS와 ETag */
+    public record Jwks(String json, String etag) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.testProject.security.jwt.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Key;
+import java.time.Instant;
+
+/* kid 단위 서명/검증 키 (HS: 동일한 SecretKey, RS/ES: 개인키/공개키) */
+@Getter
+@RequiredArgsConstructor
+public class SigningKey {
+
+    private final String kid;
+    private final SignatureAlgorithm algorithm;
+    private final Key privateKey;   // 서명용
+    private final Key publicKey;    // 검증용 (JWKS 공개 대상)
+    private final Instant createdAt;
+    private volatile Instant retiredAt; // 서명 키에서 내려온 시각, null이면 현재 서명 키
+
+    void retire(Instant now){
+        this.retiredAt = now;
+    }
+
+    public boolean isAsymmetric(){
+        return algorithm.isRsa() || algorithm.isEllipticCurve();
+    }
+}
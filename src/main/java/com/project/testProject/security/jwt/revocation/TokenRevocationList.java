@@ -0,0 +1,178 @@
+package com.project.testProject.security.jwt.revocation;
+
+import com.project.testProject.model.entity.RevokedToken;
+import com.project.testProject.repository.RevokedTokenRepository;
+import com.project.testProject.security.jwt.JwtUserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 액세스 토큰 폐기 목록
+ * - 요청마다: Bloom filter 확인 -> 대부분(폐기되지 않은 토큰)은 해시 몇 번으로 끝, 있을 수도 있는 경우에만 정확한 목록 확인
+ * - Bloom filter는 current / previous 2세대, 액세스 토큰 만료시간마다 교체 -> 토큰 만료 후 자동으로 빠짐
+ * - 사용자 전체 로그아웃: 사용자별 기준 시각 이전에 발급(iat)된 토큰 모두 폐기 (기준 항목은 리프레시 토큰 만료시간 동안 유지)
+ * - 원본은 revoked_tokens 테이블, 기동 시 적재 후 다른 서버 추가분은 주기적으로 조회 (요청 경로에서 DB 조회 없음)
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final String USER_KEY_PREFIX = "u:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long rotationMillis;
+    private final long cutoffRetentionMillis;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final long pollOverlapMillis;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>(); // jti -> 토큰 만료 시각
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>(); // userIdx -> 기준 시각
+    private final Map<Long, Long> userCutoffExpiry = new ConcurrentHashMap<>(); // userIdx -> 기준 항목 만료 시각
+
+    private volatile Filters filters;
+    private volatile long nextRotationAt;
+    private volatile LocalDateTime lastPolledAt;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.expiration}") long accessTokenExpiration,
+                               @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
+                               @Value("${jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                               @Value("${jwt.revocation.fpp:0.01}") double fpp,
+                               @Value("${jwt.revocation.poll-interval-ms:5000}") long pollIntervalMillis){
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.rotationMillis = accessTokenExpiration;
+        this.cutoffRetentionMillis = Math.max(accessTokenExpiration, refreshTokenExpiration); // 기준 시각 이전 발급 토큰이 모두 만료될 때까지
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.pollOverlapMillis = pollIntervalMillis; // 커밋 지연 / 서버 간 시계 차이 보정
+        this.filters = new Filters(newFilter(), newFilter());
+        this.nextRotationAt = System.currentTimeMillis() + rotationMillis;
+        meterRegistry.gauge("auth.revoked_tokens.size", revokedTokens, Map::size);
+    }
+
+    @PostConstruct
+    public void load(){
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(now);
+        rows.forEach(this::apply);
+        lastPolledAt = now;
+        log.info("토큰 폐기 목록 적재 완료 {}건", rows.size());
+    }
+
+    /* 토큰 1건 폐기 (로그아웃) */
+    public void revoke(String tokenId, Long userIdx, long expiresAtMillis){
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return; // jti 없는 이전 토큰 / 이미 만료된 토큰
+        }
+        RevokedToken row = new RevokedToken(tokenId, userIdx, toLocalDateTime(expiresAtMillis), LocalDateTime.now());
+        store(row);
+        apply(row);
+    }
+
+    /* 사용자의 현재까지 발급된 토큰 모두 폐기 (전체 로그아웃) */
+    public void revokeAll(Long userIdx){
+        long now = System.currentTimeMillis();
+        RevokedToken row = new RevokedToken(USER_KEY_PREFIX + userIdx, userIdx,
+                toLocalDateTime(now + cutoffRetentionMillis), toLocalDateTime(now));
+        store(row);
+        apply(row);
+    }
+
+    /* INSERT 1회 (이미 있는 키면 늦은 시각으로 갱신) */
+    private void store(RevokedToken row){
+        revokedTokenRepository.upsert(row.getTokenId(), row.getUserId(), row.getExpiresAt(), row.getRevokedAt());
+    }
+
+    public boolean isRevoked(JwtUserPrincipal principal){
+        if (!userCutoffs.isEmpty()) {
+            Long cutoff = userCutoffs.get(principal.getUserIdx());
+            // 기준 시각은 iat와 같은 초 단위로 내림 -> 전체 로그아웃 직후 같은 초에 다시 로그인한 토큰은 유지
+            if (cutoff != null && principal.getIssuedAt() < cutoff) {
+                return true;
+            }
+        }
+        String tokenId = principal.getTokenId();
+        if (tokenId == null) {
+            return false;
+        }
+        Filters current = filters;
+        if (!current.current.mightContain(tokenId) && !current.previous.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokens.containsKey(tokenId); // Bloom filter 오탐 확인
+    }
+
+    /* 다른 서버에서 추가된 폐기 항목 반영 + 주기마다 Bloom filter 세대 교체 */
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:5000}",
+               initialDelayString = "${jwt.revocation.poll-interval-ms:5000}")
+    public void poll(){
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        LocalDateTime since = lastPolledAt.minusNanos(pollOverlapMillis * 1_000_000);
+        revokedTokenRepository.findByRevokedAtAfter(since).forEach(this::apply);
+        lastPolledAt = pollStartedAt;
+
+        if (System.currentTimeMillis() >= nextRotationAt) {
+            rotate();
+        }
+    }
+
+    private synchronized void rotate(){
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        userCutoffExpiry.entrySet().removeIf(entry -> {
+            if (entry.getValue() < now) {
+                userCutoffs.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+
+        BloomFilter next = newFilter();
+        revokedTokens.keySet().forEach(next::put); // 남아 있는 항목은 새 세대에도 유지
+        filters = new Filters(next, filters.current);
+        nextRotationAt = now + rotationMillis;
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now(), 1000);
+        log.debug("토큰 폐기 목록 세대 교체 남은 항목={}, DB 만료 삭제={}", revokedTokens.size(), deleted);
+    }
+
+    private void apply(RevokedToken row){
+        long expiresAt = toEpochMillis(row.getExpiresAt());
+        if (row.getTokenId().startsWith(USER_KEY_PREFIX)) {
+            userCutoffExpiry.put(row.getUserId(), expiresAt);
+            long cutoff = toEpochMillis(row.getRevokedAt()) / 1000 * 1000; // iat(초 단위, ms로 보관)와 같은 단위
+            userCutoffs.merge(row.getUserId(), cutoff, Math::max);
+            return;
+        }
+        revokedTokens.put(row.getTokenId(), expiresAt); // 정확한 목록을 먼저 넣고 Bloom filter에 추가
+        filters.current.put(row.getTokenId());
+    }
+
+    private BloomFilter newFilter(){
+        return new BloomFilter(expectedInsertions, fpp);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis){
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime){
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Filters(BloomFilter current, BloomFilter previous) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.testProject.security.jwt.version;
+
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * long -> int 해시 맵 (open addressing, linear probing)
+ * - 박싱 없이 long[] / int[] 두 배열만 사용 -> 항목당 약 12바이트 / load factor
+ * - 읽기는 StampedLock 낙관적 읽기 (쓰기와 겹친 경우에만 읽기 락으로 재시도), 쓰기는 단일 락
+ * - key 0은 빈 슬롯 표시로 사용하므로 저장 불가 (사용자 idx는 1부터 시작)
+ */
+final class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+
+    LongIntHashMap(int expectedSize){
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    /* 없으면 defaultValue */
+    int get(long key, int defaultValue){
+        long stamp = lock.tryOptimisticRead();
+        int value = table.get(key, defaultValue);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return table.get(key, defaultValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /* 기존 값보다 큰 경우에만 저장 (버전은 증가만 함) */
+    void putIfGreater(long key, int value){
+        if (key == 0) {
+            throw new IllegalArgumentException("key 0은 사용할 수 없습니다.");
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            if (current.putIfGreater(key, value) && current.size > current.threshold) {
+                table = current.resize();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size(){
+        return table.size;
+    }
+
+    private static int capacityFor(int expectedSize){
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(16, capacity);
+    }
+
+    private static int slot(long key, int mask){
+        long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final int[] values;
+        private final int threshold;
+        private int size;
+
+        private Table(int capacity){
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private int get(long key, int defaultValue){
+            int mask = keys.length - 1;
+            int index = slot(key, mask);
+            // 낙관적 읽기 중 변경되어도 무한 루프가 되지 않도록 최대 capacity회 탐색
+            for (int probe = 0; probe < keys.length; probe++) {
+                long current = keys[index];
+                if (current == key) {
+                    return values[index];
+                }
+                if (current == 0) {
+                    return defaultValue;
+                }
+                index = (index + 1) & mask;
+            }
+            return defaultValue;
+        }
+
+        /* 새 key가 추가된 경우 true */
+        private boolean putIfGreater(long key, int value){
+            int mask = keys.length - 1;
+            int index = slot(key, mask);
+            while (true) {
+                long current = keys[index];
+                if (current == key) {
+                    if (value > values[index]) {
+                        values[index] = value;
+                    }
+                    return false;
+                }
+                if (current == 0) {
+                    values[index] = value;
+                    keys[index] = key;
+                    size++;
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private Table resize(){
+            Table resized = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    resized.putIfGreater(keys[i], values[i]);
+                }
+            }
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.testProject.security.jwt.version;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/*
+ * 사용자별 토큰 버전 (users.token_version 메모리 사본)
+ * - 비밀번호 / 권한 변경 시 버전 +1 -> 토큰의 ver claim이 현재 버전보다 작으면 폐기된 토큰
+ * - 버전이 0이 아닌 사용자만 저장 (대부분 사용자는 0이므로 맵 크기 최소화)
+ * - 기동 시 적재, 다른 서버의 변경은 updated_at 기준으로 주기적으로 조회 (요청 경로에서 DB 조회 없음)
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private static final String LOAD_SQL = "SELECT id, token_version FROM users WHERE token_version > 0";
+    private static final String POLL_SQL = "SELECT id, token_version FROM users WHERE updated_at > ? AND token_version > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LongIntHashMap versions;
+    private final long pollOverlapMillis;
+    private volatile LocalDateTime lastPolledAt;
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.token-version.expected-size:10000}") int expectedSize,
+                                @Value("${jwt.token-version.poll-interval-ms:5000}") long pollIntervalMillis){
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = new LongIntHashMap(expectedSize);
+        this.pollOverlapMillis = pollIntervalMillis; // 커밋 지연 / 서버 간 시계 차이 보정
+        meterRegistry.gauge("auth.token_version.size", versions, LongIntHashMap::size);
+    }
+
+    @PostConstruct
+    public void load(){
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            versions.putIfGreater(rs.getLong(1), rs.getInt(2));
+        });
+        lastPolledAt = now;
+        log.info("토큰 버전 적재 완료 {}건", versions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-version.poll-interval-ms:5000}",
+               initialDelayString = "${jwt.token-version.poll-interval-ms:5000}")
+    public void poll(){
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        Timestamp since = Timestamp.valueOf(lastPolledAt.minusNanos(pollOverlapMillis * 1_000_000));
+        jdbcTemplate.query(POLL_SQL, rs -> {
+            versions.putIfGreater(rs.getLong(1), rs.getInt(2));
+        }, since);
+        lastPolledAt = pollStartedAt;
+    }
+
+    /* 현재 버전 (변경 이력 없는 사용자는 0) */
+    public int currentVersion(long userIdx){
+        return versions.get(userIdx, 0);
+    }
+
+    /* 이 서버에서 변경한 경우 바로 반영 */
+    public void update(long userIdx, int version){
+        if (version > 0) {
+            versions.putIfGreater(userIdx, version);
+        }
+    }
+
+    /* 토큰 발급 시점 버전이 현재 버전보다 작으면 폐기된 토큰 */
+    public boolean isStale(long userIdx, int tokenVersion){
+        return tokenVersion < currentVersion(userIdx);
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.testProject.security.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+ * 비밀번호 해시 / 비교 전용 bounded 실행기
+ * - 요청 스레드 대신 고정 크기 풀에서 실행 -> 로그인 폭주 시에도 BCrypt가 쓰는 CPU는 풀 크기만큼으로 제한
+ * - 대기 큐가 가득 차거나 대기 시간이 초과되면 PasswordHashingRejectedException (429) 으로 즉시 실패
+ * - 우선순위: matches(로그인) > encode(가입 / 비밀번호 변경), 같은 우선순위는 먼저 들어온 순서
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+                                  MeterRegistry meterRegistry){
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new BoundedPriorityQueue(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("auth.password.queue.wait")
+                .description("비밀번호 해시 작업 큐 대기 시간").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected").tag("reason", "queue_full")
+                .description("큐 포화 / 대기 시간 초과로 거부된 비밀번호 해시 작업 수").register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.password.rejected").tag("reason", "timeout")
+                .description("큐 포화 / 대기 시간 초과로 거부된 비밀번호 해시 작업 수").register(meterRegistry);
+        meterRegistry.gauge("auth.password.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("auth.password.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(Priority.LOW, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(Priority.HIGH, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 로그인 성공 후 재해시는 해시 1회가 추가되므로 대기 작업이 있으면 다음 로그인으로 미룸 (큐 포화로 로그인 자체가 실패하지 않도록)
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword); // 해시 계산 없음
+    }
+
+    /* 빈 종료 시 호출 (Spring이 shutdown 메서드를 destroy 메서드로 추론) */
+    public void shutdown(){
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Priority priority, Supplier<T> work){
+        HashingTask<T> task = new HashingTask<>(priority, sequence.getAndIncrement(), work);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingRejectedException("비밀번호 처리 대기열이 가득 찼습니다.", e);
+        }
+        try {
+            return task.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.result.cancel(false); // 아직 시작 전이면 실행하지 않음
+            timeoutCounter.increment();
+            throw new PasswordHashingRejectedException("비밀번호 처리 대기 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private enum Priority { HIGH, LOW }
+
+    /* FutureTask는 Comparable이 아니므로 execute()로 직접 넣는 작업 객체 */
+    private final class HashingTask<T> implements Runnable, Comparable<HashingTask<?>> {
+        private final Priority priority;
+        private final long sequence;
+        private final Supplier<T> work;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private HashingTask(Priority priority, long sequence, Supplier<T> work){
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            if (result.isDone()) {
+                return; // 대기 시간 초과로 호출자가 이미 포기한 작업
+            }
+            try {
+                result.complete(work.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public int compareTo(HashingTask<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /* 크기 제한 우선순위 큐 (가득 차면 offer가 false -> AbortPolicy로 거부) */
+    private static final class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+        private final int capacity;
+
+        private BoundedPriorityQueue(int capacity){
+            super(Math.max(1, capacity));
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(Runnable runnable) {
+            if (size() >= capacity) {
+                return false;
+            }
+            return super.offer(runnable);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Math.max(0, capacity - size());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.testProject.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.IntFunction;
+
+/*
+ * 기동 시 현재 서버에서 해시 1회가 목표 시간(target-ms)에 가장 가깝게(초과하지 않게) 걸리는 비용 계산
+ * - bcrypt: strength(2^n 라운드), argon2id: iterations (메모리 / 병렬도는 고정)
+ * - 하한보다 낮추지 않음 (느린 서버라도 보안 하한 유지)
+ */
+@Slf4j
+final class PasswordCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-password-1234";
+    private static final int SAMPLES = 2;
+
+    private PasswordCostCalibrator() {
+    }
+
+    static int bcryptStrength(long targetMillis, int minStrength, int maxStrength){
+        return calibrate("bcrypt strength", targetMillis, minStrength, maxStrength, BCryptPasswordEncoder::new);
+    }
+
+    static int argon2Iterations(long targetMillis, int memoryKib, int minIterations, int maxIterations){
+        return calibrate("argon2id iterations", targetMillis, minIterations, maxIterations,
+                iterations -> new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations));
+    }
+
+    /* 비용을 1씩 올리며 측정, 목표 시간을 넘기 직전 값 선택 */
+    private static int calibrate(String name, long targetMillis, int min, int max, IntFunction<PasswordEncoder> encoderFactory){
+        measure(encoderFactory.apply(min)); // JIT 워밍업
+        int chosen = min;
+        long chosenMillis = 0;
+        for (int cost = min; cost <= max; cost++) {
+            long millis = measure(encoderFactory.apply(cost));
+            if (cost > min && millis > targetMillis) {
+                break;
+            }
+            chosen = cost;
+            chosenMillis = millis;
+        }
+        log.info("비밀번호 해시 비용 보정 {}={} (1회 {}ms, 목표 {}ms)", name, chosen, chosenMillis, targetMillis);
+        return chosen;
+    }
+
+    /* SAMPLES회 중 최소 시간 (다른 작업 간섭 제외) */
+    private static long measure(PasswordEncoder encoder){
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+}
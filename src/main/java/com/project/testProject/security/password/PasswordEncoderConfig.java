@@ -0,0 +1,62 @@
+package com.project.testProject.security.password;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * 비밀번호 인코더 구성
+ * - DelegatingPasswordEncoder: 새 해시는 "{bcrypt}..." / "{argon2}..." 형식, 접두사 없는 기존 해시는 bcrypt로 비교
+ * - 비용은 기동 시 서버 성능에 맞게 보정 (직접 지정하면 보정 생략)
+ * - 로그인 성공 시 해시 알고리즘 / 비용이 현재 설정보다 낮으면 재해시 (CustomUserDetailService.updatePassword)
+ * - 해시 / 비교는 bounded 풀에서 실행 (BoundedPasswordEncoder)
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password-hashing.algorithm:bcrypt}") String algorithm,
+                                           @Value("${auth.password-hashing.target-ms:100}") long targetMillis,
+                                           @Value("${auth.password-hashing.bcrypt-strength:0}") int bcryptStrength,
+                                           @Value("${auth.password-hashing.min-bcrypt-strength:10}") int minBcryptStrength,
+                                           @Value("${auth.password-hashing.argon2-memory-kib:19456}") int argon2MemoryKib,
+                                           @Value("${auth.password-hashing.argon2-iterations:0}") int argon2Iterations,
+                                           @Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password-hashing.timeout-ms:2000}") long timeoutMillis){
+        boolean useArgon2 = ARGON2.equalsIgnoreCase(algorithm);
+
+        // 새 해시에 쓰는 알고리즘만 비용 보정 (나머지는 기존 해시 비교용, 비용은 해시 문자열에 포함)
+        int strength = bcryptStrength > 0 || useArgon2
+                ? Math.max(bcryptStrength, minBcryptStrength)
+                : PasswordCostCalibrator.bcryptStrength(targetMillis, minBcryptStrength, 16);
+        int iterations = argon2Iterations > 0 || !useArgon2
+                ? Math.max(argon2Iterations, 2)
+                : PasswordCostCalibrator.argon2Iterations(targetMillis, argon2MemoryKib, 2, 10);
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, iterations));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(useArgon2 ? ARGON2 : BCRYPT, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); // 접두사 없는 기존 bcrypt 해시
+
+        // 기본값: 코어 수의 절반 (나머지 코어는 토큰 인증 요청 처리용으로 남김)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new MeteredPasswordEncoder(delegating, meterRegistry), // 해시 시간 메트릭(auth.password.hash) 포함
+                poolSize, queueCapacity, timeoutMillis, meterRegistry);
+    }
+}
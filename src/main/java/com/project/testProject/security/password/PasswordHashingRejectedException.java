@@ -0,0 +1,9 @@
+package com.project.testProject.security.password;
+
+/* 비밀번호 해시 실행기 포화 / 대기 시간 초과 (429 응답) */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.testProject.security.ratelimit;
+
+import com.project.testProject.security.jwt.ClientIp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 로그인 / 토큰 갱신 요청 제한 (비밀번호 해시 / DB 조회 전에 검사)
+ * - 로그인: 클라이언트 ip별 + 로그인 아이디별 (여러 ip에서 한 계정을 대입하는 경우)
+ * - 토큰 갱신: 클라이언트 ip별
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final int MAX_KEY_LENGTH = 64; // 긴 아이디로 키 메모리를 늘리지 못하도록
+
+    private final RateLimiter loginByIp;
+    private final RateLimiter loginByUser;
+    private final RateLimiter refreshByIp;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${auth.rate-limit.login-ip.permits-per-minute:30}") int loginIpPermits,
+                           @Value("${auth.rate-limit.login-ip.burst:10}") int loginIpBurst,
+                           @Value("${auth.rate-limit.login-user.permits-per-minute:10}") int loginUserPermits,
+                           @Value("${auth.rate-limit.login-user.burst:5}") int loginUserBurst,
+                           @Value("${auth.rate-limit.refresh-ip.permits-per-minute:60}") int refreshIpPermits,
+                           @Value("${auth.rate-limit.refresh-ip.burst:20}") int refreshIpBurst,
+                           @Value("${auth.rate-limit.maximum-keys:100000}") long maximumKeys,
+                           @Value("${auth.rate-limit.idle-seconds:600}") long idleSeconds){
+        Duration idle = Duration.ofSeconds(idleSeconds);
+        this.loginByIp = new RateLimiter("login_ip", loginIpPermits, loginIpBurst, maximumKeys, idle, meterRegistry);
+        this.loginByUser = new RateLimiter("login_user", loginUserPermits, loginUserBurst, maximumKeys, idle, meterRegistry);
+        this.refreshByIp = new RateLimiter("refresh_ip", refreshIpPermits, refreshIpBurst, maximumKeys, idle, meterRegistry);
+    }
+
+    public void checkLogin(String userId){
+        check(loginByIp, ClientIp.current());
+        if (userId != null) {
+            check(loginByUser, userKey(userId));
+        }
+    }
+
+    public void checkRefresh(){
+        check(refreshByIp, ClientIp.current());
+    }
+
+    private static void check(RateLimiter limiter, String key){
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            throw new RateLimitExceededException("요청이 너무 많습니다.", retryAfterSeconds);
+        }
+    }
+
+    /* 아이디 대소문자 / 길이 변형으로 제한을 우회하지 못하도록 정규화 */
+    private static String userKey(String userId){
+        String key = userId.length() > MAX_KEY_LENGTH ? userId.substring(0, MAX_KEY_LENGTH) : userId;
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.testProject.security.ratelimit;
+
+import lombok.Getter;
+
+/* 요청 제한 초과 (GlobalExceptionHandler에서 429 + Retry-After) */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds){
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
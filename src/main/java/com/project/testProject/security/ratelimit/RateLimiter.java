@@ -0,0 +1,75 @@
+package com.project.testProject.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * 키(ip, 아이디)별 토큰 버킷 (GCRA: 버킷 상태를 "다음 허용 시각" long 1개로 표현, CAS로 갱신 -> 락 없음)
+ * - 분당 permitsPerMinute개 충전, 최대 burst개까지 연속 허용
+ * - 키 맵은 Caffeine (크기 제한 + 미사용 키 만료), 처음 보는 키가 대량으로 들어와도 메모리는 maximumKeys로 제한
+ * - 만료 / 제거된 키는 가득 찬 버킷과 같으므로 충전 시간보다 오래 쉰 키만 만료되도록 설정
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;  // 토큰 1개 충전 시간
+    private final long capacityNanos;  // burst개 충전 시간
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+
+    public RateLimiter(String name, int permitsPerMinute, int burst, long maximumKeys, Duration idleTimeout,
+                       MeterRegistry meterRegistry){
+        this(name, permitsPerMinute, burst, maximumKeys, idleTimeout, meterRegistry, System::nanoTime);
+    }
+
+    /* 테스트용 시계 지정 */
+    RateLimiter(String name, int permitsPerMinute, int burst, long maximumKeys, Duration idleTimeout,
+                MeterRegistry meterRegistry, LongSupplier nanoClock){
+        this.nanoClock = nanoClock;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, permitsPerMinute);
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        Duration idle = idleTimeout.compareTo(Duration.ofNanos(capacityNanos)) > 0 ? idleTimeout : Duration.ofNanos(capacityNanos);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idle)
+                .build();
+
+        this.allowedCounter = Counter.builder("auth.rate_limit.requests").tag("limiter", name).tag("result", "allowed")
+                .description("요청 제한 검사 결과별 건수").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.rate_limit.requests").tag("limiter", name).tag("result", "rejected")
+                .description("요청 제한 검사 결과별 건수").register(meterRegistry);
+        meterRegistry.gauge("auth.rate_limit.keys", Tags.of("limiter", name),
+                buckets, Cache::estimatedSize);
+    }
+
+    /* 허용되면 0, 제한되면 다음 요청이 허용될 때까지 남은 시간(nanos) */
+    public long tryAcquire(String key){
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.asMap().computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long nextAllowedAt = bucket.get();
+            long next = Math.max(nextAllowedAt, now) + intervalNanos;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                rejectedCounter.increment();
+                return excess;
+            }
+            if (bucket.compareAndSet(nextAllowedAt, next)) {
+                allowedCounter.increment();
+                return 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.project.testProject.security.role;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 역할 비트마스크 (역할 계층 문자열로 기동 시 1회 생성)
+ * - 역할마다 비트 1개 (계층 문자열 등장 순서), 역할당 하위 역할 포함 closure 마스크를 미리 계산
+ * - hasRole 검사 = (closure 마스크 & 역할 비트) != 0, 요청마다 문자열 분리 / 계층 탐색 없음
+ * - 같은 마스크의 권한 목록은 불변 리스트 1개를 공유 (SimpleGrantedAuthority도 역할당 1개)
+ * - 계층(역할 목록 / 비트 순서 / 상하위 관계)이 바뀌면 fingerprint가 달라지므로 이전 토큰의 마스크는 사용하지 않음 (role claim으로 계산)
+ */
+public final class RoleBitmask {
+
+    public static final long UNKNOWN = -1L;
+
+    private static final int MAX_ROLES = 63;
+    private static final int PRECOMPUTED_ROLES = 12; // 역할 12개 이하면 모든 마스크 조합을 배열로 미리 생성
+
+    private final Map<String, Integer> bits;
+    private final GrantedAuthority[] authorities;
+    private final long[] closures; // 비트별 자신 + 하위 역할
+    private final int fingerprint;
+    private final List<GrantedAuthority>[] authorityLists;
+    private final Map<Long, List<GrantedAuthority>> authorityListCache = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private RoleBitmask(List<String> roles, long[] closures){
+        this.bits = new LinkedHashMap<>();
+        this.authorities = new GrantedAuthority[roles.size()];
+        for (int i = 0; i < roles.size(); i++) {
+            bits.put(roles.get(i), i);
+            authorities[i] = new SimpleGrantedAuthority(roles.get(i));
+        }
+        this.closures = closures;
+        // String / Arrays.hashCode는 JVM과 무관한 값 -> 서버 간 같은 계층이면 같은 fingerprint
+        this.fingerprint = 31 * String.join(",", roles).hashCode() + Arrays.hashCode(closures);
+        if (roles.size() <= PRECOMPUTED_ROLES) {
+            this.authorityLists = new List[1 << roles.size()];
+            for (int mask = 0; mask < authorityLists.length; mask++) {
+                authorityLists[mask] = buildAuthorities(mask);
+            }
+        } else {
+            this.authorityLists = null;
+        }
+    }
+
+    /* "ROLE_A > ROLE_B > ROLE_C" 형식, 여러 줄 가능 (RoleHierarchyImpl.fromHierarchy와 동일) */
+    public static RoleBitmask fromHierarchy(String hierarchy){
+        Map<String, Integer> index = new LinkedHashMap<>();
+        List<int[]> edges = new ArrayList<>(); // {상위 비트, 하위 비트}
+        for (String line : hierarchy.split("\n")) {
+            String[] chain = line.split(">");
+            int higher = -1;
+            for (String role : chain) {
+                String trimmed = role.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int bit = index.computeIfAbsent(trimmed, r -> index.size());
+                if (higher >= 0) {
+                    edges.add(new int[] {higher, bit});
+                }
+                higher = bit;
+            }
+        }
+        if (index.size() > MAX_ROLES) {
+            throw new IllegalArgumentException("역할은 최대 " + MAX_ROLES + "개까지 지원합니다: " + index.size());
+        }
+
+        // 자기 자신 + 직접 하위 역할에서 시작해 변화가 없을 때까지 전파 (역할 수가 적으므로 단순 반복)
+        long[] closures = new long[index.size()];
+        for (int i = 0; i < closures.length; i++) {
+            closures[i] = 1L << i;
+        }
+        for (int[] edge : edges) {
+            closures[edge[0]] |= 1L << edge[1];
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < closures.length; i++) {
+                long expanded = closures[i];
+                for (int j = 0; j < closures.length; j++) {
+                    if ((closures[i] & (1L << j)) != 0) {
+                        expanded |= closures[j];
+                    }
+                }
+                if (expanded != closures[i]) {
+                    closures[i] = expanded;
+                    changed = true;
+                }
+            }
+        }
+        return new RoleBitmask(new ArrayList<>(index.keySet()), closures);
+    }
+
+    /* 역할 비트 ("ROLE_ADMIN"), 계층에 없는 역할은 0 */
+    public long bit(String role){
+        Integer bit = bits.get(role);
+        return bit != null ? 1L << bit : 0L;
+    }
+
+    /* ","로 구분된 역할 문자열의 마스크, 계층에 없는 역할이 있으면 UNKNOWN */
+    public long maskOf(String roles){
+        if (roles == null || roles.isBlank()) {
+            return UNKNOWN;
+        }
+        long mask = 0L;
+        for (String role : roles.split(",")) {
+            long bit = bit(role);
+            if (bit == 0L) {
+                return UNKNOWN;
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /* 권한 목록 중 계층에 있는 역할만 마스크로 변환 (DB principal 등 토큰 마스크가 없는 경우) */
+    public long knownMask(Collection<? extends GrantedAuthority> granted){
+        long mask = 0L;
+        for (GrantedAuthority authority : granted) {
+            mask |= bit(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    /* 부여된 역할 마스크 -> 하위 역할까지 포함한 마스크 */
+    public long closure(long mask){
+        long reachable = 0L;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (bit < closures.length) {
+                reachable |= closures[bit];
+            }
+        }
+        return reachable;
+    }
+
+    /* 부여된 역할 마스크의 권한 목록 (공유 불변 리스트) */
+    public List<GrantedAuthority> authorities(long mask){
+        if (authorityLists != null && mask >= 0 && mask < authorityLists.length) {
+            return authorityLists[(int) mask];
+        }
+        return authorityListCache.computeIfAbsent(mask, this::buildAuthorities);
+    }
+
+    /* 토큰의 마스크가 현재 계층 기준으로 만들어졌는지 확인용 */
+    public int fingerprint(){
+        return fingerprint;
+    }
+
+    private List<GrantedAuthority> buildAuthorities(long mask){
+        List<GrantedAuthority> list = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (bit < authorities.length) {
+                list.add(authorities[bit]);
+            }
+        }
+        return List.copyOf(list);
+    }
+}
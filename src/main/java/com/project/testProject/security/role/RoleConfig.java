@@ -0,0 +1,24 @@
+package com.project.testProject.security.role;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+
+/* 역할 계층 (경로 인가 / 토큰 역할 마스크는 RoleBitmask, 표현식 / 메서드 보안은 RoleHierarchy) */
+@Configuration
+public class RoleConfig {
+
+    //계층 정의 ROLE_ADMIN > ROLE_MANAGER > ROLE_USER 포함 형식
+    private static final String HIERARCHY = "ROLE_ADMIN > ROLE_MANAGER > ROLE_USER";
+
+    @Bean
+    public RoleBitmask roleBitmask(){
+        return RoleBitmask.fromHierarchy(HIERARCHY);
+    }
+
+    @Bean
+    public RoleHierarchy roleHierarchy(){
+        return RoleHierarchyImpl.fromHierarchy(HIERARCHY);
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.testProject.security.route;
+
+import com.project.testProject.security.jwt.JwtUserPrincipal;
+import com.project.testProject.security.role.RoleBitmask;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * RoutePolicy 기반 요청 인가 (requestMatchers 목록 순회 대신 trie 1회 조회)
+ * - 규칙별 AuthorizationManager를 기동 시 RouteRule.index 배열로 생성
+ * - 역할 규칙은 principal의 역할 마스크(하위 역할 포함) 비트 검사 (계층 탐색 없음)
+ */
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RoutePolicy routePolicy;
+    private final RoleBitmask roleBitmask;
+    private final AuthorizationManager<RequestAuthorizationContext>[] managers;
+
+    @SuppressWarnings("unchecked")
+    public RouteAuthorizationManager(RoutePolicy routePolicy, RoleBitmask roleBitmask){
+        this.routePolicy = routePolicy;
+        this.roleBitmask = roleBitmask;
+        List<RouteRule> rules = routePolicy.getRules();
+        this.managers = new AuthorizationManager[rules.size()];
+        for (RouteRule rule : rules) {
+            managers[rule.getIndex()] = switch (rule.getAccess()) {
+                case PERMIT_ALL -> (authentication, context) -> GRANTED;
+                case AUTHENTICATED -> AuthenticatedAuthorizationManager.authenticated();
+                case ROLE -> hasRole(rule.getRole());
+            };
+        }
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return managerFor(context).authorize(authentication, context);
+    }
+
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return managerFor(context).check(authentication, context);
+    }
+
+    private AuthorizationManager<RequestAuthorizationContext> managerFor(RequestAuthorizationContext context){
+        return managers[routePolicy.match(context.getRequest()).getIndex()];
+    }
+
+    private AuthorizationManager<RequestAuthorizationContext> hasRole(String role){
+        long required = roleBitmask.bit("ROLE_" + role);
+        if (required == 0L) {
+            throw new IllegalStateException("역할 계층에 없는 역할입니다: " + role);
+        }
+        return (authentication, context) -> (roleMask(authentication.get()) & required) != 0 ? GRANTED : DENIED;
+    }
+
+    /* JWT principal은 토큰 검증 시 계산한 마스크, 그 외(DB principal 등)는 권한 목록으로 계산 */
+    private long roleMask(Authentication authentication){
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return 0L;
+        }
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            return principal.getRoleMask();
+        }
+        return roleBitmask.closure(roleBitmask.knownMask(authentication.getAuthorities()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.testProject.security.route;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 경로별 접근 규칙 테이블 (기동 시 문자 단위 prefix trie로 컴파일)
+ * - 패턴: "/a/b" (정확히 일치, 끝의 "/" 1개 허용) 또는 "/a/b/**" ("/a/b" 및 하위 경로 전체)
+ * - 조회: 경로 길이만큼 1회 순회, 요청마다 객체 생성 없음
+ * - 여러 패턴이 일치하면 가장 긴(구체적인) 패턴 우선 (선언 순서 무관), 일치하는 패턴이 없으면 인증 필요
+ * - 요청은 디코딩 / 정규화된 경로로 조회 (Spring MVC 핸들러 매핑과 같은 경로, "/api/path/%61dmin" == "/api/path/admin")
+ */
+public final class RoutePolicy {
+
+    private static final String SUBTREE_SUFFIX = "/**";
+
+    private final Node root;
+    private final RouteRule defaultRule;
+    private final List<RouteRule> rules;
+
+    private RoutePolicy(Node root, RouteRule defaultRule, List<RouteRule> rules){
+        this.root = root;
+        this.defaultRule = defaultRule;
+        this.rules = rules;
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    /* 요청에 적용되는 규칙 (원본 getRequestURI 대신 디코딩, ";" 제거, "//" 정리, context path 제외한 경로 기준) */
+    public RouteRule match(HttpServletRequest request){
+        return match(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    /* 디코딩된 경로(쿼리 문자열 제외)에 적용되는 규칙 */
+    public RouteRule match(String path){
+        Node node = root;
+        RouteRule prefixMatch = defaultRule;
+        int length = path.length();
+        for (int i = 0; ; i++) {
+            if (node.subtree != null && (i == length || path.charAt(i) == '/')) {
+                prefixMatch = node.subtree;
+            }
+            if (i == length) {
+                return node.exact != null ? node.exact : prefixMatch;
+            }
+            if (node.exact != null && i == length - 1 && path.charAt(i) == '/') {
+                return node.exact; // "/a/b/"
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return prefixMatch;
+            }
+        }
+    }
+
+    /* 정의된 규칙 목록 (index 순서) */
+    public List<RouteRule> getRules(){
+        return rules;
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];  // 정렬 상태 유지 (이진 탐색)
+        private Node[] children = new Node[0];
+        private RouteRule exact;
+        private RouteRule subtree;
+
+        private Node child(char c){
+            int found = Arrays.binarySearch(labels, c);
+            return found >= 0 ? children[found] : null;
+        }
+
+        private Node childOrCreate(char c){
+            int found = Arrays.binarySearch(labels, c);
+            if (found >= 0) {
+                return children[found];
+            }
+            int insertAt = -found - 1;
+            char[] nextLabels = new char[labels.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, nextLabels, 0, insertAt);
+            System.arraycopy(children, 0, nextChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, nextLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, nextChildren, insertAt + 1, children.length - insertAt);
+            Node node = new Node();
+            nextLabels[insertAt] = c;
+            nextChildren[insertAt] = node;
+            labels = nextLabels;
+            children = nextChildren;
+            return node;
+        }
+    }
+
+    public static final class Builder {
+        private final Node root = new Node();
+        private final List<RouteRule> rules = new ArrayList<>();
+        private final Map<String, RouteRule> roleRules = new HashMap<>();
+        private final RouteRule permitAll = newRule(RouteRule.Access.PERMIT_ALL, null);
+        private final RouteRule authenticated = newRule(RouteRule.Access.AUTHENTICATED, null);
+
+        private Builder() {
+        }
+
+        public Builder permitAll(String... patterns){
+            return add(permitAll, patterns);
+        }
+
+        public Builder authenticated(String... patterns){
+            return add(authenticated, patterns);
+        }
+
+        /* role은 "ROLE_" 접두사 없이 (hasRole과 동일) */
+        public Builder hasRole(String role, String... patterns){
+            return add(roleRules.computeIfAbsent(role, r -> newRule(RouteRule.Access.ROLE, r)), patterns);
+        }
+
+        public RoutePolicy build(){
+            return new RoutePolicy(root, authenticated, Collections.unmodifiableList(new ArrayList<>(rules)));
+        }
+
+        private RouteRule newRule(RouteRule.Access access, String role){
+            RouteRule rule = new RouteRule(rules.size(), access, role);
+            rules.add(rule);
+            return rule;
+        }
+
+        private Builder add(RouteRule rule, String... patterns){
+            for (String pattern : patterns) {
+                boolean subtree = pattern.endsWith(SUBTREE_SUFFIX);
+                String path = subtree ? pattern.substring(0, pattern.length() - SUBTREE_SUFFIX.length()) : pattern;
+                if (!pattern.startsWith("/") || path.indexOf('*') >= 0 || path.indexOf('{') >= 0) {
+                    throw new IllegalArgumentException("지원하지 않는 경로 패턴입니다: " + pattern);
+                }
+                Node node = root;
+                for (int i = 0; i < path.length(); i++) {
+                    node = node.childOrCreate(path.charAt(i));
+                }
+                RouteRule existing = subtree ? node.subtree : node.exact;
+                if (existing != null && existing != rule) {
+                    throw new IllegalStateException("경로 패턴 규칙이 중복 정의되었습니다: " + pattern + " (" + existing + ", " + rule + ")");
+                }
+                if (subtree) {
+                    node.subtree = rule;
+                } else {
+                    node.exact = rule;
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.testProject.security.route;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/* 경로별 접근 규칙 (JwtAuthenticationFilter 생략 여부 / SecurityConfig 인가 규칙 공통) */
+@Configuration
+public class RoutePolicyConfig {
+
+    @Bean
+    public RoutePolicy routePolicy(){
+        return RoutePolicy.builder()
+                .permitAll("/api/test/**", "/api/register/**", "/api/login/**", "/api/auth/**")
+                .permitAll("/.well-known/jwks.json")
+                .permitAll("/actuator/health", "/actuator/prometheus") // 모니터링 수집, management 포트(내부 주소 바인딩)에서만 제공 (application.yml)
+                .hasRole("ADMIN", "/actuator/**")
+                .hasRole("ADMIN", "/api/path/admin")
+                .hasRole("ADMIN", "/api/admin/**")
+                .hasRole("MANAGER", "/api/path/manager")
+                .hasRole("USER", "/api/path/user")
+                .build(); // 그 외 경로는 인증 필요
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.testProject.security.route;
+
+import lombok.Getter;
+
+/* 경로별 접근 규칙 (RoutePolicy가 생성, index는 규칙별 사전 계산 값 배열 조회용) */
+@Getter
+public final class RouteRule {
+
+    public enum Access { PERMIT_ALL, AUTHENTICATED, ROLE }
+
+    private final int index;
+    private final Access access;
+    private final String role; // access가 ROLE인 경우만 (ADMIN, MANAGER ...)
+
+    RouteRule(int index, Access access, String role){
+        this.index = index;
+        this.access = access;
+        this.role = role;
+    }
+
+    /* 인증 없이 접근 가능 -> JWT 필터 생략 */
+    public boolean isPublic(){
+        return access == Access.PERMIT_ALL;
+    }
+
+    @Override
+    public String toString() {
+        return access == Access.ROLE ? "hasRole(" + role + ")" : access.name();
+    }
+}
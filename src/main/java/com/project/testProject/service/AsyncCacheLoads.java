@@ -0,0 +1,49 @@
+package com.project.testProject.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/*
+ * AsyncCache 조회 공통 처리 (UserDetailsCache, RefreshTokenFamilyIndex)
+ * - 미완료 future를 먼저 putIfAbsent로 넣고 loader(DB 조회)는 캐시 락 밖에서 실행 -> 가상 스레드 pinning 없음
+ * - 조회 중 invalidate되면 future가 맵에서 빠지므로, invalidate 이전에 읽은 값이 다시 캐시되지 않음
+ * - 같은 키 동시 조회는 먼저 넣은 future 하나를 공유 (DB 조회 1회)
+ */
+final class AsyncCacheLoads {
+
+    private AsyncCacheLoads() {
+    }
+
+    /* 캐시 값 또는 loader 결과 (loader가 null을 반환하면 캐시하지 않고 null) */
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader){
+        CompletableFuture<V> future = cache.getIfPresent(key);
+        if (future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            future = cache.asMap().putIfAbsent(key, created);
+            if (future == null) {
+                V loaded;
+                try {
+                    loaded = loader.apply(key);
+                } catch (RuntimeException | Error e) {
+                    cache.asMap().remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                created.complete(loaded); // null로 완료된 항목은 Caffeine이 제거
+                return loaded;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 다른 스레드의 loader 예외는 원래 예외로 전달 (UsernameNotFoundException 등)
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.testProject.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/*
+ * 로그인 / 토큰 갱신 단계별 시간
+ * - auth.login.phase: user_lookup(사용자 조회) / authenticate(비밀번호 비교) / rehash(해시 업그레이드) / token_mint / refresh_store
+ * - auth.user.db_load: UserDetails 캐시 miss 시 DB 조회 (토큰 인증 필터에서 DB 비중 확인)
+ * - 비밀번호 해시 시간은 auth.password.hash, 서명 시간은 auth.jwt.sign
+ */
+@Getter
+@Component
+public class AuthMetrics {
+
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Timer loginUserLookup;
+    private final Timer loginAuthenticate;
+    private final Timer loginRehash;
+    private final Timer loginTokenMint;
+    private final Timer loginRefreshStore;
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+    private final Timer userDbLoad;
+
+    public AuthMetrics(MeterRegistry meterRegistry){
+        this.loginSuccess = outcome("auth.login", "success", meterRegistry);
+        this.loginFailure = outcome("auth.login", "failure", meterRegistry);
+        this.loginUserLookup = phase("user_lookup", meterRegistry);
+        this.loginAuthenticate = phase("authenticate", meterRegistry);
+        this.loginRehash = phase("rehash", meterRegistry);
+        this.loginTokenMint = phase("token_mint", meterRegistry);
+        this.loginRefreshStore = phase("refresh_store", meterRegistry);
+        this.refreshSuccess = outcome("auth.refresh", "success", meterRegistry);
+        this.refreshFailure = outcome("auth.refresh", "failure", meterRegistry);
+        this.userDbLoad = Timer.builder("auth.user.db_load")
+                .description("UserDetails DB 조회 시간").register(meterRegistry);
+    }
+
+    private static Timer outcome(String name, String outcome, MeterRegistry meterRegistry){
+        return Timer.builder(name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private static Timer phase(String phase, MeterRegistry meterRegistry){
+        return Timer.builder("auth.login.phase").tag("phase", phase)
+                .description("로그인 단계별 시간").register(meterRegistry);
+    }
+}
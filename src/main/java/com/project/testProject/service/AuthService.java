@@ -12,4 +12,12 @@ public interface AuthService {
     ResultObject<Object> login(@Valid UserLoginDto loginDto);
 
     ResultObject<TokenResponseDto> refreshToken(String refreshToken);
+
+    void logout(String accessToken);
+
+    void logoutAll(Long userIdx);
+
+    void changePassword(Long userIdx, String currentPassword, String newPassword);
+
+    void changeRole(Long userIdx, String role);
 }
@@ -6,30 +6,50 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
-import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailService implements UserDetailsService {
+public class CustomUserDetailService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final AuthMetrics authMetrics;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> user = userRepository.findById(Long.valueOf(username));
-        log.info("username = {}", username);
-        log.info("user정보 조회하는 부분 체크 = {}", user);
+        // 캐시 miss인 경우에만 DB 조회
+        return userDetailsCache.get(Long.valueOf(username), this::loadFromDatabase);
+    }
+
+    /*
+     * 로그인 성공 시 저장된 해시의 알고리즘 / 비용이 현재 설정보다 낮으면 재해시 후 호출 (AuthServiceImpl.login에서만 호출, AuthenticationManager 로그인 경로는 없음)
+     * (접두사 없는 기존 bcrypt 해시 -> "{bcrypt}...", 낮은 strength -> 보정된 strength)
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Long userIdx = Long.valueOf(user.getUsername());
+        userRepository.updatePassword(userIdx, newPassword);
+        userDetailsCache.invalidate(userIdx);
+        log.debug("비밀번호 해시 갱신 idx={}", userIdx);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    private UserDetails loadFromDatabase(Long userIdx){
+        User user = authMetrics.getUserDbLoad().record(() -> userRepository.findById(userIdx))
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다. idx=" + userIdx));
+        log.debug("user정보 조회하는 부분 체크 = {}", userIdx);
 
         return new org.springframework.security.core.userdetails.User(
-                username,
-                user.get().getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority(user.get().getRole()))
+                String.valueOf(userIdx),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole()))
         );
     }
 }
@@ -0,0 +1,111 @@
+package com.project.testProject.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.testProject.model.entity.RefreshToken;
+import com.project.testProject.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * 사용자별 현재 리프레시 토큰 family 인덱스 (refresh_tokens 행의 메모리 사본)
+ * - 갱신 요청 시 DB 조회 없이 family / generation / 토큰 해시 확인
+ * - 캐시에 없을 때만 findByUserId로 1회 로드 (조회 중 invalidate되면 읽은 값은 캐시되지 않음)
+ */
+@Component
+public class RefreshTokenFamilyIndex {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AsyncCache<Long, Family> families;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenFamilyIndex(RefreshTokenRepository refreshTokenRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.refresh-token-family.maximum-size:100000}") long maximumSize,
+                                   @Value("${jwt.refresh-expiration}") long refreshTokenExpiration){
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(refreshTokenExpiration))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, families.synchronous(), "refreshTokenFamily");
+    }
+
+    /* 인덱스에 없으면 DB에서 로드 (없으면 null) */
+    public Family get(Long userId){
+        // Cache.get(key, loader)는 ConcurrentHashMap.compute(synchronized) 안에서 loader를 실행하므로
+        // DB 조회가 가상 스레드를 carrier에 고정(pinning)시킴 -> 락 밖에서 조회
+        return AsyncCacheLoads.getOrLoad(families, userId, this::load);
+    }
+
+    /* DB에서 다시 로드 (다른 서버에서 갱신되어 인덱스가 오래된 경우) */
+    public Family reload(Long userId){
+        invalidate(userId);
+        return get(userId);
+    }
+
+    public void put(Long userId, Family family){
+        families.put(userId, CompletableFuture.completedFuture(family));
+    }
+
+    /* expected가 현재 값인 경우에만 next로 교체 (같은 토큰 동시 사용 시 하나만 성공) */
+    public boolean replace(Long userId, Family expected, Family next){
+        CompletableFuture<Family> replacement = CompletableFuture.completedFuture(next);
+        CompletableFuture<Family> current = families.asMap().computeIfPresent(userId, (key, future) ->
+                future.isDone() && !future.isCompletedExceptionally() && future.getNow(null) == expected ? replacement : future);
+        return current == replacement;
+    }
+
+    public void invalidate(Long userId){
+        families.synchronous().invalidate(userId); // 조회 중인 future도 제거
+    }
+
+    public String newFamilyId(){
+        byte[] bytes = new byte[16];
+        secureRandom.nextBytes(bytes);
+        return BASE64_URL.encodeToString(bytes); // 22자
+    }
+
+    private Family load(Long userId){
+        return refreshTokenRepository.findByUserId(userId)
+                .map(Family::from)
+                .orElse(null);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Family {
+        private final String familyId;
+        private final int generation;
+        private final byte[] tokenHash;
+        private final long expiresAt; // epoch millis
+
+        static Family from(RefreshToken token){
+            return new Family(token.getFamilyId(), token.getGeneration(), token.getTokenHash(),
+                    token.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        public static Family of(String familyId, int generation, byte[] tokenHash, LocalDateTime expiryDate){
+            return new Family(familyId, generation, tokenHash,
+                    expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        public boolean isExpired(){
+            return expiresAt < System.currentTimeMillis();
+        }
+    }
+}
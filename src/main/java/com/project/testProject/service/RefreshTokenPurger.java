@@ -0,0 +1,83 @@
+package com.project.testProject.service;
+
+import com.project.testProject.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 만료된 리프레시 토큰 주기적 삭제
+ * - expiry_date 인덱스 순서로 batch-size 건씩 삭제, 배치 사이에 pause-ms 만큼 쉬어 락을 오래 잡지 않음
+ * - 1회 실행당 최대 max-batches-per-run 배치까지만 삭제하고 나머지는 다음 실행에서 처리
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurger {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatchesPerRun;
+
+    private final Counter purgedCounter;
+    private final Timer runTimer;
+    private final AtomicLong remaining = new AtomicLong();
+
+    public RefreshTokenPurger(RefreshTokenRepository refreshTokenRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.refresh-token-purge.enabled:true}") boolean enabled,
+                              @Value("${auth.refresh-token-purge.batch-size:1000}") int batchSize,
+                              @Value("${auth.refresh-token-purge.pause-ms:100}") long pauseMillis,
+                              @Value("${auth.refresh-token-purge.max-batches-per-run:500}") int maxBatchesPerRun){
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.purgedCounter = Counter.builder("auth.refresh_token.purged")
+                .description("삭제된 만료 리프레시 토큰 수")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("auth.refresh_token.purge.duration")
+                .description("만료 토큰 정리 1회 실행 시간")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.refresh_token.expired_remaining", remaining);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token-purge.interval-ms:3600000}",
+               initialDelayString = "${auth.refresh-token-purge.initial-delay-ms:60000}")
+    public void purge(){
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(this::purgeExpired);
+    }
+
+    private void purgeExpired(){
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = refreshTokenRepository.deleteExpired(now, batchSize);
+            total += deleted;
+            purgedCounter.increment(deleted);
+            if (deleted < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        remaining.set(refreshTokenRepository.countExpired(now));
+        log.info("만료 리프레시 토큰 정리 완료 삭제={}, 남은 만료 토큰={}", total, remaining.get());
+    }
+}
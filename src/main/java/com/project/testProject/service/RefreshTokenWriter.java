@@ -0,0 +1,274 @@
+package com.project.testProject.service;
+
+import com.project.testProject.security.jwt.TokenHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 리프레시 토큰 저장 write-behind
+ * - 같은 사용자의 대기 중인 저장 요청은 마지막 토큰 1건으로 병합
+ * - 별도 스레드가 큐에서 최대 batch-size 만큼 꺼내 JDBC batch로 한 번에 저장
+ * - durability
+ *   SYNC: 요청 스레드에서 바로 저장
+ *   ASYNC_ACK: 큐에 넣고 batch 저장 완료까지 대기 (동시 로그인끼리 batch 공유)
+ *   FIRE_AND_FORGET: 큐에 넣고 바로 반환 (갱신 / 삭제 전에 awaitPending으로 저장 완료 대기)
+ * - 큐가 가득 차면 요청 스레드에서 직접 저장 (backpressure)
+ * - pending에서 꺼내 저장하기까지는 flushLock 안에서 실행 -> 같은 사용자의 이전 요청이 batch 저장 중이면 직접 저장은 그 이후에 실행
+ *   (꺼낸 순서 = 저장 순서이므로 나중 토큰이 이전 토큰에 덮어쓰이지 않음)
+ */
+@Slf4j
+@Component
+public class RefreshTokenWriter {
+
+    public enum Durability { SYNC, ASYNC_ACK, FIRE_AND_FORGET }
+
+    /* user_id 유니크 인덱스 기준 단일 upsert (MySQL 8.0.19+ row alias 문법) */
+    private static final String UPSERT_SQL = "INSERT INTO refresh_tokens (user_id, family_id, generation, token_hash, expiry_date) VALUES (?, ?, ?, ?, ?) AS new"
+            + " ON DUPLICATE KEY UPDATE family_id = new.family_id, generation = new.generation,"
+            + " token_hash = new.token_hash, expiry_date = new.expiry_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Durability durability;
+    private final int batchSize;
+    private final long ackTimeoutMillis;
+    private final long enqueueTimeoutMillis;
+
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> unacked = new ConcurrentHashMap<>(); // FIRE_AND_FORGET: 저장 완료 전인 사용자별 마지막 요청
+    private final BlockingQueue<Long> queue;
+    private final ReentrantLock flushLock = new ReentrantLock(); // synchronized 대신 사용 (DB 저장 중 대기해도 가상 스레드 pinning 없음)
+    private volatile boolean running;
+    private Thread flusher;
+
+    public RefreshTokenWriter(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.refresh-token-writer.durability:ASYNC_ACK}") Durability durability,
+                              @Value("${auth.refresh-token-writer.queue-capacity:10000}") int queueCapacity,
+                              @Value("${auth.refresh-token-writer.batch-size:200}") int batchSize,
+                              @Value("${auth.refresh-token-writer.ack-timeout-ms:3000}") long ackTimeoutMillis,
+                              @Value("${auth.refresh-token-writer.enqueue-timeout-ms:50}") long enqueueTimeoutMillis){
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("auth.refresh_token.write_queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start(){
+        if (durability == Durability.SYNC) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "refresh-token-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // 종료 시 남은 요청 저장
+        flushPending(new ArrayList<>(pending.keySet()));
+    }
+
+    /* 사용자 리프레시 토큰 저장 (기존 토큰/family는 대체, 대기 중에도 원본 대신 해시만 보관) */
+    public void write(Long userId, String familyId, int generation, String token, LocalDateTime expiryDate){
+        byte[] tokenHash = TokenHasher.sha256(token);
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        if (durability == Durability.SYNC) {
+            flush(List.of(new PendingWrite(userId, familyId, generation, tokenHash, expiryDate, ack)));
+            await(ack);
+            return;
+        }
+
+        boolean[] created = new boolean[1];
+        pending.compute(userId, (key, existing) -> {
+            if (existing == null) {
+                created[0] = true;
+                return new PendingWrite(userId, familyId, generation, tokenHash, expiryDate, ack);
+            }
+            existing.merge(familyId, generation, tokenHash, expiryDate, ack); // 아직 저장 전이면 최신 토큰으로 교체
+            return existing;
+        });
+
+        if (created[0] && !enqueue(userId)) {
+            // 큐가 가득 찬 경우 요청 스레드에서 직접 저장 (진행 중인 batch가 있으면 완료 후)
+            flushPending(List.of(userId));
+        }
+
+        if (durability == Durability.ASYNC_ACK) {
+            await(ack);
+        } else {
+            // 큐 대기 중 / batch 저장 중(커밋 전)인 동안 유지 -> awaitPending에서 대기
+            unacked.put(userId, ack);
+            ack.whenComplete((ignored, error) -> unacked.remove(userId, ack));
+        }
+    }
+
+    /*
+     * 사용자의 저장 전 리프레시 토큰이 있으면 저장 완료까지 대기 (FIRE_AND_FORGET만 해당, 다른 모드는 write 반환 시 저장 완료)
+     * - 갱신(rotate): 로그인 직후 저장 전 family를 갱신하면 0건 -> 이전 family로 되돌아가 FAMILY_MISMATCH
+     * - 삭제(로그아웃): 삭제 후 대기 중이던 저장이 실행되면 삭제한 토큰이 되살아남
+     * 저장 실패 / 대기 시간 초과는 호출자의 DB 갱신 결과(0건 등)로 처리
+     */
+    public void awaitPending(Long userId){
+        CompletableFuture<Void> ack = unacked.get(userId);
+        if (ack == null) {
+            return;
+        }
+        try {
+            ack.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("리프레시 토큰 저장 대기 실패 userId={} {}", userId, e.toString());
+        }
+    }
+
+    private boolean enqueue(Long userId){
+        try {
+            return queue.offer(userId, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void await(CompletableFuture<Void> ack){
+        try {
+            ack.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("리프레시 토큰 저장 대기 중 인터럽트", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("리프레시 토큰 저장 실패", e);
+        }
+    }
+
+    private void runFlusher(){
+        List<Long> userIds = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Long first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                userIds.add(first);
+                queue.drainTo(userIds, batchSize - 1);
+                flushPending(userIds);
+                userIds.clear();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("리프레시 토큰 batch 저장 스레드 오류", e);
+            }
+        }
+    }
+
+    /* 사용자들의 대기 중인 요청을 꺼내 저장 (꺼내기부터 저장 완료까지 flushLock 안에서 실행) */
+    private void flushPending(List<Long> userIds){
+        flushLock.lock();
+        try {
+            List<PendingWrite> writes = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                PendingWrite write = pending.remove(userId);
+                if (write != null) { // 백프레셔로 이미 직접 저장된 경우 null
+                    writes.add(write);
+                }
+            }
+            if (!writes.isEmpty()) {
+                flush(writes);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /* 한 트랜잭션에서 upsert를 JDBC batch로 실행 (사용자당 1문장) */
+    private void flush(List<PendingWrite> writes){
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(UPSERT_SQL, writes, writes.size(), (ps, write) -> {
+                    ps.setLong(1, write.userId);
+                    ps.setString(2, write.familyId);
+                    ps.setInt(3, write.generation);
+                    ps.setBytes(4, write.tokenHash);
+                    ps.setTimestamp(5, Timestamp.valueOf(write.expiryDate));
+                })
+            );
+            writes.forEach(PendingWrite::complete);
+        } catch (RuntimeException e) {
+            log.error("리프레시 토큰 저장 실패 ({}건)", writes.size(), e);
+            writes.forEach(write -> write.fail(e));
+        }
+    }
+
+    /* 사용자별 대기 중인 저장 요청 (병합된 요청들의 완료 통지 포함, 변경은 pending.compute 안에서만) */
+    private static final class PendingWrite {
+        private final Long userId;
+        private String familyId;
+        private int generation;
+        private byte[] tokenHash;
+        private LocalDateTime expiryDate;
+        private final List<CompletableFuture<Void>> acks = new ArrayList<>(1);
+
+        private PendingWrite(Long userId, String familyId, int generation, byte[] tokenHash,
+                             LocalDateTime expiryDate, CompletableFuture<Void> ack){
+            this.userId = userId;
+            this.familyId = familyId;
+            this.generation = generation;
+            this.tokenHash = tokenHash;
+            this.expiryDate = expiryDate;
+            this.acks.add(ack);
+        }
+
+        private void merge(String familyId, int generation, byte[] tokenHash,
+                           LocalDateTime expiryDate, CompletableFuture<Void> ack){
+            this.familyId = familyId;
+            this.generation = generation;
+            this.tokenHash = tokenHash;
+            this.expiryDate = expiryDate;
+            this.acks.add(ack);
+        }
+
+        private void complete(){
+            acks.forEach(ack -> ack.complete(null));
+        }
+
+        private void fail(Throwable error){
+            acks.forEach(ack -> ack.completeExceptionally(error));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.testProject.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/* 사용자 idx 기준 UserDetails 캐시 (크기 + TTL 기반 제거, 조회 중 invalidate된 값은 캐시되지 않음) */
+@Component
+public class UserDetailsCache {
+
+    private final AsyncCache<Long, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${auth.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            MeterRegistry meterRegistry){
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size 메트릭 등록
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "userDetails");
+    }
+
+    /* 캐시에 없으면 loader로 조회 후 저장, 반환은 항상 복사본 */
+    public UserDetails get(Long userIdx, Function<Long, UserDetails> loader){
+        // loader(DB 조회)는 캐시 내부 락 밖에서 실행 -> 가상 스레드 pinning 방지
+        UserDetails cached = AsyncCacheLoads.getOrLoad(cache, userIdx, loader);
+        // 인증 완료 후 eraseCredentials()가 호출되어도 캐시 원본의 비밀번호가 지워지지 않도록 복사해서 반환
+        return User.withUserDetails(cached).build();
+    }
+
+    /* 사용자 정보(권한, 비밀번호 등) 변경 시 호출 */
+    public void invalidate(Long userIdx){
+        if (userIdx != null) {
+            cache.synchronous().invalidate(userIdx); // 조회 중인 future도 제거
+        }
+    }
+
+    public void invalidateAll(){
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats(){
+        return cache.synchronous().stats();
+    }
+}
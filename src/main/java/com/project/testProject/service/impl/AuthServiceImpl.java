@@ -2,40 +2,67 @@ package com.project.testProject.service.impl;
 
 import com.project.testProject.common.ResultObject;
 import com.project.testProject.model.dto.TokenResponseDto;
-import com.project.testProject.model.dto.UserIdProjection;
 import com.project.testProject.model.dto.UserLoginDto;
-import com.project.testProject.model.entity.RefreshToken;
 import com.project.testProject.model.entity.User;
 import com.project.testProject.repository.RefreshTokenRepository;
 import com.project.testProject.repository.UserRepository;
+import com.project.testProject.security.audit.AuthAuditEvent;
+import com.project.testProject.security.audit.AuthAuditLogger;
 import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.JwtUserPrincipal;
+import com.project.testProject.security.jwt.TokenHasher;
+import com.project.testProject.security.jwt.TokenVerification;
+import com.project.testProject.security.jwt.revocation.TokenRevocationList;
+import com.project.testProject.security.jwt.version.TokenVersionRegistry;
+import com.project.testProject.security.password.PasswordHashingRejectedException;
+import com.project.testProject.service.AuthMetrics;
 import com.project.testProject.service.AuthService;
+import com.project.testProject.service.RefreshTokenFamilyIndex;
+import com.project.testProject.service.RefreshTokenWriter;
+import com.project.testProject.service.UserDetailsCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.Objects;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final AuthenticationManager authenticationManager;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final JwtProvider jwtProvider;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenWriter refreshTokenWriter;
+    private final RefreshTokenFamilyIndex refreshTokenFamilyIndex;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final AuthAuditLogger authAuditLogger;
+    private final AuthMetrics authMetrics;
+
+    private volatile String userNotFoundPassword;
 
     @Override
     public void registerUser(User user) {
+        // 비밀번호 해시 전에 중복 아이디 확인 (동시 가입은 uk_users_user_id 위반 -> 둘 다 409)
+        if (userRepository.existsByUserId(user.getUserId())) {
+            throw new DuplicateKeyException("이미 사용 중인 아이디입니다.");
+        }
 
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
@@ -43,59 +70,50 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(encodedPassword);
         user.setRole("ROLE_USER");
 
-        log.info("user = {}", user);
-
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getId());
     }
 
     @Override
     public ResultObject<Object> login(UserLoginDto loginDto) {
+        Timer.Sample loginSample = Timer.start();
 
-        log.info("loginDto= {}", loginDto);
+        /* 1. user_id 유니크 인덱스로 사용자 전체 정보를 1회 조회 (이후 토큰 발급까지 이 엔티티 사용) */
+        User user = authMetrics.getLoginUserLookup()
+                .record(() -> userRepository.findByUserId(loginDto.getUsername()))
+                .orElse(null);
 
-        Optional<UserIdProjection> projection = userRepository.findByUserId(loginDto.getUsername());
-        Long userId = 0L;
-        if(projection.isPresent()){
-            userId = projection.get().getId();
+        /* 2. 비밀번호 비교 (없는 아이디도 같은 비용의 해시 비교 -> 응답 시간으로 아이디 존재 여부 노출 방지) */
+        String encodedPassword = user != null ? user.getPassword() : userNotFoundPassword();
+        boolean matched = authMetrics.getLoginAuthenticate()
+                .record(() -> passwordEncoder.matches(loginDto.getPassword(), encodedPassword));
+        if (user == null || !matched) {
+            BadCredentialsException e = new BadCredentialsException("자격 증명에 실패하였습니다.");
+            loginSample.stop(authMetrics.getLoginFailure());
+            authAuditLogger.record(AuthAuditEvent.LOGIN_FAILURE, user != null ? user.getId() : null, e.getClass().getSimpleName());
+            throw e;
         }
-        /* 1. 아이디 비밀번호로 인증 객체 생성 */
-        UsernamePasswordAuthenticationToken authenticationToken =
-                new UsernamePasswordAuthenticationToken(userId, loginDto.getPassword());
-
-        log.info("1. 인증 토큰 생성: {}", authenticationToken);
 
-        /* 2. AuthenticationManger를 통해 인증 실행 */
-        log.info("2. AuthenticationManger 인증 시작");
-        Authentication authentication = authenticationManager.authenticate(authenticationToken);
-        log.info("2. 인증 성공: {}", authentication);
-
-        /* 3. 인증이 성공하면 UserDetails 객체와 사용자 idx 가져옴 */
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        log.info("userDetails {}", userDetails);
-        Optional<User> user = userRepository.findById(Long.valueOf(userDetails.getUsername()));
-        log.info("유저 객체 정보: {}", user);
-        log.info("3. 사용자 정보 DB 조회 성공: idx={}, username={}", user.get().getId(), user.get().getUsername());
+        /* 3. 저장된 해시의 알고리즘 / 비용이 현재 설정보다 낮으면 재해시 */
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                String.valueOf(user.getId()),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole()))
+        );
+        upgradePassword(userDetails, loginDto.getPassword());
 
         /* 4. JwtProvider를 사용하여 토큰 생성 */
-        String accessToken = jwtProvider.generateAccessToken(userDetails, user.orElse(null));
-        String refreshToken = jwtProvider.generateRefreshToken(userDetails, user.orElse(null));
-        log.info("4. 토큰 생성 완료 - 액세스 토큰: {}, 리프레시 토큰: {}", accessToken, refreshToken);
+        Timer.Sample mintSample = Timer.start();
+        String accessToken = jwtProvider.generateAccessToken(userDetails, user);
+        String familyId = refreshTokenFamilyIndex.newFamilyId(); // 로그인마다 새 family 시작
+        String refreshToken = jwtProvider.generateRefreshToken(userDetails, user, familyId, 0);
+        mintSample.stop(authMetrics.getLoginTokenMint());
 
-        /* 5. 기존 리프레시 토근이 있다면 삭제하고 새 토큰 저장 */
-        log.info("5. 기존 리프레시 토큰 삭제 시작 (userIdx: {})", user.get().getId());
-        refreshTokenRepository.deleteByUserId(user.get().getId());
-        log.info("5. 기존 리프레시 토큰 삭제 완료");
+        /* 5. 기존 리프레시 토큰을 새 토큰으로 교체 (write-behind batch 저장) */
+        authMetrics.getLoginRefreshStore().record(() -> storeRefreshToken(user.getId(), familyId, 0, refreshToken));
 
-        long refreshTokenExpiration = jwtProvider.getRefreshTokenExpiration();
-
-        RefreshToken token = new RefreshToken();
-        token.setToken(refreshToken);
-        token.setUserId(user.get().getId());
-        token.setExpiryDate(LocalDateTime.now().plus(refreshTokenExpiration, ChronoUnit.MILLIS));
-        refreshTokenRepository.save(token);
-        log.info("5. 새로운 리프레시 토큰 저장 완료");
-
-        log.info("6. 로그인 프로세스 최종 완료. 응답 생성 시작");
+        loginSample.stop(authMetrics.getLoginSuccess());
+        authAuditLogger.record(AuthAuditEvent.LOGIN_SUCCESS, user.getId());
         return ResultObject.builder().isSuccess(true).message("정상처리되었습니다.").data(
                 TokenResponseDto.builder()
                         .accessToken(accessToken)
@@ -104,36 +122,206 @@ public class AuthServiceImpl implements AuthService {
         ).build();
     }
 
+    /* 없는 아이디 비교용 해시 (현재 알고리즘 / 비용으로 최초 1회 생성) */
+    private String userNotFoundPassword(){
+        String encoded = userNotFoundPassword;
+        if (encoded == null) {
+            encoded = passwordEncoder.encode("userNotFoundPassword");
+            userNotFoundPassword = encoded;
+        }
+        return encoded;
+    }
+
+    /* 재해시는 로그인 성공 이후 작업이므로 해시 풀이 포화되어도 로그인은 실패시키지 않음 (다음 로그인 때 재시도) */
+    private void upgradePassword(UserDetails userDetails, String rawPassword){
+        if (!passwordEncoder.upgradeEncoding(userDetails.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = authMetrics.getLoginRehash().record(() -> passwordEncoder.encode(rawPassword));
+            userDetailsPasswordService.updatePassword(userDetails, upgraded);
+        } catch (PasswordHashingRejectedException e) {
+            log.debug("비밀번호 재해시 생략 idx={} {}", userDetails.getUsername(), e.getMessage());
+        }
+    }
+
     @Override
     public ResultObject<TokenResponseDto> refreshToken(String refreshToken) {
+        Timer.Sample sample = Timer.start();
+        ResultObject<TokenResponseDto> result = rotateRefreshToken(refreshToken);
+        sample.stop(result.isSuccess() ? authMetrics.getRefreshSuccess() : authMetrics.getRefreshFailure());
+        return result;
+    }
+
+    private ResultObject<TokenResponseDto> rotateRefreshToken(String refreshToken) {
         // 1. Refresh Token 유효성 검증
-        if (!jwtProvider.validateToken(refreshToken)) {
+        TokenVerification verification = jwtProvider.verifyToken(refreshToken);
+        if (!verification.isValid()) {
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, null, verification.getStatus().name());
             return ResultObject.<TokenResponseDto>builder().message("유효하지 않은 리프레시 토큰입니다.").build();
         }
 
-        // 2. 토큰에서 사용자 정보 추출
-        Long userId = jwtProvider.getClaimFromToken(refreshToken).get("userIdx", Long.class);
+        // 2. 검증 시 파싱된 claims에서 사용자 정보 / family 정보 추출 (fid가 없는 토큰은 rotation 이전 발급분)
+        Claims claims = verification.getClaims();
+        Long userId = claims.get("userIdx", Long.class);
+        if (!jwtProvider.isRefreshToken(claims)) {
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, userId, "WRONG_TOKEN_TYPE");
+            return ResultObject.<TokenResponseDto>builder().message("유효하지 않은 리프레시 토큰입니다.").build();
+        }
+        if (userId == null) {
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, null, "MALFORMED");
+            return ResultObject.<TokenResponseDto>builder().message("유효하지 않은 리프레시 토큰입니다.").build();
+        }
+        String familyId = claims.get("fid", String.class);
+        Integer tokenGeneration = claims.get("gen", Integer.class);
+        int generation = tokenGeneration == null ? 0 : tokenGeneration;
+        if (tokenVersionRegistry.isStale(userId, JwtUserPrincipal.tokenVersion(claims))) {
+            // 비밀번호 / 권한 변경 이전에 발급된 토큰
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, userId, "STALE_VERSION");
+            return ResultObject.<TokenResponseDto>builder().message("유효하지 않은 리프레시 토큰입니다.").build();
+        }
 
-        // 3. DB에서 리프레시 토큰 확인
-        Optional<RefreshToken> storedTokenOpt = refreshTokenRepository.findById(userId);
-        if (storedTokenOpt.isEmpty() || !storedTokenOpt.get().getToken().equals(refreshToken) || storedTokenOpt.get().getExpiryDate().isBefore(LocalDateTime.now())) {
+        // 3. family 인덱스(메모리)에서 현재 리프레시 토큰 확인, 없을 때만 DB 조회
+        RefreshTokenFamilyIndex.Family family = refreshTokenFamilyIndex.get(userId);
+        if (family != null && generation > family.getGeneration()) {
+            // 다른 서버에서 먼저 갱신되어 인덱스가 오래된 경우
+            family = refreshTokenFamilyIndex.reload(userId);
+        }
+        if (family == null || family.isExpired() || !Objects.equals(family.getFamilyId(), familyId)) {
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, userId, "FAMILY_MISMATCH");
+            return ResultObject.<TokenResponseDto>builder().message("리프레시 토큰이 만료되었거나 일치하지 않습니다.").build();
+        }
+        if (generation < family.getGeneration()) {
+            // 이미 사용된 토큰 재사용 -> 탈취로 보고 family 전체 폐기
+            revokeRefreshTokenFamily(userId);
+            return ResultObject.<TokenResponseDto>builder().message("이미 사용된 리프레시 토큰입니다.").build();
+        }
+        if (!TokenHasher.matches(family.getTokenHash(), refreshToken)) {
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, userId, "HASH_MISMATCH");
             return ResultObject.<TokenResponseDto>builder().message("리프레시 토큰이 만료되었거나 일치하지 않습니다.").build();
         }
 
-        // 4. 사용자 정보 로드 및 새 액세스 토큰 생성
+        // 4. 사용자 정보 로드 및 새 액세스 토큰 / 리프레시 토큰(같은 family, 다음 generation) 생성
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
                 java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority(user.getRole()))
         );
+        String nextFamilyId = familyId != null ? familyId : refreshTokenFamilyIndex.newFamilyId();
+        int nextGeneration = generation + 1;
         String newAccessToken = jwtProvider.generateAccessToken(userDetails, user);
+        String newRefreshToken = jwtProvider.generateRefreshToken(userDetails, user, nextFamilyId, nextGeneration);
+
+        // 5. 인덱스를 먼저 다음 generation으로 교체 (같은 토큰 동시 요청은 하나만 통과, 나머지는 재사용 처리)
+        byte[] newTokenHash = TokenHasher.sha256(newRefreshToken);
+        LocalDateTime expiryDate = LocalDateTime.now().plus(jwtProvider.getRefreshTokenExpiration(), ChronoUnit.MILLIS);
+        RefreshTokenFamilyIndex.Family next = RefreshTokenFamilyIndex.Family.of(nextFamilyId, nextGeneration, newTokenHash, expiryDate);
+        if (!refreshTokenFamilyIndex.replace(userId, family, next)) {
+            revokeRefreshTokenFamily(userId);
+            return ResultObject.<TokenResponseDto>builder().message("이미 사용된 리프레시 토큰입니다.").build();
+        }
+
+        // 6. DB는 현재 generation인 경우에만 교체 (다른 서버에서 먼저 갱신된 경우 0건, 로그인 저장이 대기 중이면 완료 후 교체)
+        //    DB 교체가 예외로 끝나면 인덱스만 앞서 있게 되므로 제거 -> 같은 토큰 재시도 시 DB 기준으로 다시 확인 (재사용 오판 방지)
+        int updated;
+        try {
+            refreshTokenWriter.awaitPending(userId);
+            updated = refreshTokenRepository.rotate(userId, familyId, generation, nextFamilyId, newTokenHash, expiryDate);
+        } catch (RuntimeException e) {
+            refreshTokenFamilyIndex.invalidate(userId);
+            throw e;
+        }
+        if (updated == 0) {
+            refreshTokenFamilyIndex.invalidate(userId);
+            RefreshTokenFamilyIndex.Family stored = refreshTokenFamilyIndex.get(userId);
+            if (stored != null && Objects.equals(stored.getFamilyId(), familyId) && stored.getGeneration() > generation) {
+                revokeRefreshTokenFamily(userId);
+                return ResultObject.<TokenResponseDto>builder().message("이미 사용된 리프레시 토큰입니다.").build();
+            }
+            authAuditLogger.record(AuthAuditEvent.REFRESH_FAILURE, userId, "CONCURRENT_ROTATION");
+            return ResultObject.<TokenResponseDto>builder().message("리프레시 토큰이 만료되었거나 일치하지 않습니다.").build();
+        }
 
+        authAuditLogger.record(AuthAuditEvent.REFRESH_SUCCESS, userId);
         return ResultObject.<TokenResponseDto>builder().isSuccess(true).message("토큰이 갱신되었습니다.").data(
                 TokenResponseDto.builder()
                         .accessToken(newAccessToken)
-                        .refreshToken(refreshToken)
+                        .refreshToken(newRefreshToken)
                         .build()
         ).build();
     }
+
+    /* 리프레시 토큰 저장 + family 인덱스 갱신 */
+    private void storeRefreshToken(Long userId, String familyId, int generation, String refreshToken){
+        LocalDateTime expiryDate = LocalDateTime.now().plus(jwtProvider.getRefreshTokenExpiration(), ChronoUnit.MILLIS);
+        refreshTokenWriter.write(userId, familyId, generation, refreshToken, expiryDate);
+        refreshTokenFamilyIndex.put(userId,
+                RefreshTokenFamilyIndex.Family.of(familyId, generation, TokenHasher.sha256(refreshToken), expiryDate));
+    }
+
+    /* family 전체 폐기 (사용자의 리프레시 토큰 삭제) */
+    private void revokeRefreshTokenFamily(Long userId){
+        authAuditLogger.record(AuthAuditEvent.REFRESH_REUSE, userId);
+        deleteRefreshToken(userId);
+    }
+
+    private void deleteRefreshToken(Long userId){
+        refreshTokenWriter.awaitPending(userId); // 대기 중이던 저장이 삭제 뒤에 실행되지 않도록
+        refreshTokenFamilyIndex.invalidate(userId);
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public void logout(String accessToken) {
+        TokenVerification verification = jwtProvider.verifyToken(accessToken);
+        if (!verification.isValid()) {
+            return;
+        }
+        // 현재 액세스 토큰은 폐기 목록에 추가, 리프레시 토큰은 삭제
+        Claims claims = verification.getClaims();
+        Long userId = claims.get("userIdx", Long.class);
+        tokenRevocationList.revoke(claims.getId(), userId, claims.getExpiration().getTime());
+        deleteRefreshToken(userId);
+        authAuditLogger.record(AuthAuditEvent.LOGOUT, userId);
+    }
+
+    @Override
+    public void logoutAll(Long userIdx) {
+        // 지금까지 발급된 모든 액세스 토큰 폐기 + 리프레시 토큰 삭제
+        tokenRevocationList.revokeAll(userIdx);
+        deleteRefreshToken(userIdx);
+        authAuditLogger.record(AuthAuditEvent.LOGOUT_ALL, userIdx);
+    }
+
+    @Override
+    public void changePassword(Long userIdx, String currentPassword, String newPassword) {
+        User user = userRepository.findById(userIdx).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        // 탈취된 액세스 토큰만으로 비밀번호를 바꾸지 못하도록 현재 비밀번호 확인 (불일치 -> 401 bad_credentials)
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            authAuditLogger.record(AuthAuditEvent.PASSWORD_CHANGE_FAILURE, userIdx);
+            throw new BadCredentialsException("자격 증명에 실패하였습니다.");
+        }
+        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1); // 기존 토큰 모두 폐기
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(user);
+        // 저장(커밋) 이후 캐시된 비밀번호 해시 제거
+        userDetailsCache.invalidate(userIdx);
+        tokenVersionRegistry.update(userIdx, user.getTokenVersion());
+        authAuditLogger.record(AuthAuditEvent.PASSWORD_CHANGE, userIdx);
+    }
+
+    @Override
+    public void changeRole(Long userIdx, String role) {
+        User user = userRepository.findById(userIdx).orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        user.setRole(role);
+        user.setTokenVersion(user.getTokenVersion() + 1); // 이전 권한으로 발급된 토큰 모두 폐기
+        user.setUpdatedAt(LocalDateTime.now());
+        userRepository.save(user);
+        // 캐시된 권한 정보 제거
+        userDetailsCache.invalidate(userIdx);
+        tokenVersionRegistry.update(userIdx, user.getTokenVersion());
+        authAuditLogger.record(AuthAuditEvent.ROLE_CHANGE, userIdx, role);
+    }
 }
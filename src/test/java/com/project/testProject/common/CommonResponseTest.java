@@ -0,0 +1,27 @@
+package com.project.testProject.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommonResponseTest {
+
+    private final JsonSupport jsonSupport = new JsonSupport(new ObjectMapper());
+
+    @Test
+    void toJsonStringOmitsNullFields() throws Exception {
+        CommonResponse<Object> response = new CommonResponse<>(MetaData.builder().result(true).code("200").build(), null);
+
+        assertThat(response.toJsonString(jsonSupport))
+                .isEqualTo("{\"meta\":{\"result\":true,\"code\":\"200\",\"message\":\"\"}}");
+    }
+
+    @Test
+    void defaultWriterKeepsNullFields() throws Exception {
+        CommonResponse<Object> response = new CommonResponse<>(MetaData.builder().result(true).code("200").build(), null);
+
+        // MVC 응답과 같은 writer는 null 필드를 그대로 출력
+        assertThat(jsonSupport.writer(CommonResponse.class).writeValueAsString(response)).contains("\"data\":null");
+    }
+}
@@ -0,0 +1,185 @@
+package com.project.testProject.security.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.testProject.common.JsonSupport;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.key.JwtKeyManager;
+import com.project.testProject.security.role.RoleBitmask;
+import com.project.testProject.security.role.RoleConfig;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenMinterTest {
+
+    private static final String SECRET = "dGVzdHByb2plY3RfcGFzc3dvcmRfc2hpbmh1bndvbzEyMzQhIQ==";
+    private static final long ACCESS_EXPIRATION = 3600000L;
+    private static final long REFRESH_EXPIRATION = 604800000L;
+    private static final String IP = "10.0.0.1\", \"role\":\"ROLE_ADMIN\\\\\"}"; // JSON 특수문자 (따옴표, 역슬래시)
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoleBitmask roleBitmask = new RoleConfig().roleBitmask();
+    private final JsonSupport jsonSupport = new JsonSupport(objectMapper);
+    private final JwtTokenMinter minter = new JwtTokenMinter(roleBitmask, jsonSupport, 1000);
+
+    @ParameterizedTest
+    @ValueSource(strings = { "HS256", "RS256", "ES256" })
+    void accessTokenClaimsRoundTrip(String algorithm) throws Exception {
+        JwtKeyManager keyManager = keyManager(algorithm);
+        JwtProvider provider = provider(keyManager);
+        User user = user(42L, "홍길동 ✓ 𝒥", "ROLE_MANAGER", 3);
+        long issuedAt = System.currentTimeMillis();
+
+        String token = minter.mint(keyManager.currentKey(), user, user.getRole(), IP, issuedAt, ACCESS_EXPIRATION, null, 0);
+        TokenVerification verification = provider.verifyToken(token);
+
+        assertThat(verification.isValid()).isTrue();
+        Claims claims = verification.getClaims();
+        assertThat(claims.getSubject()).isEqualTo("42");
+        assertThat(claims.get("userIdx", Long.class)).isEqualTo(42L);
+        assertThat(claims.get("userId", String.class)).isEqualTo("user42");
+        assertThat(claims.get("userName", String.class)).isEqualTo("홍길동 ✓ 𝒥");
+        assertThat(claims.get("role", String.class)).isEqualTo("ROLE_MANAGER");
+        assertThat(claims.get("rm", Long.class)).isEqualTo(roleBitmask.maskOf("ROLE_MANAGER"));
+        assertThat(claims.get("rh", Integer.class)).isEqualTo(roleBitmask.fingerprint());
+        assertThat(claims.get("ver", Integer.class)).isEqualTo(3);
+        assertThat(claims.get("typ", String.class)).isEqualTo(JwtTokenMinter.TYPE_ACCESS);
+        assertThat(claims.get("ip", String.class)).isEqualTo(IP);
+        assertThat(claims.getId()).hasSize(22);
+        assertThat(claims.getIssuedAt().getTime()).isEqualTo(issuedAt / 1000 * 1000);
+        assertThat(claims.getExpiration().getTime()).isEqualTo((issuedAt + ACCESS_EXPIRATION) / 1000 * 1000);
+        assertThat(claims).doesNotContainKeys("fid", "gen");
+        assertThat(provider.isRefreshToken(claims)).isFalse();
+
+        JsonNode header = decode(token.split("\\.")[0]);
+        assertThat(header.get("kid").asText()).isEqualTo(keyManager.currentKey().getKid());
+        assertThat(header.get("alg").asText()).isEqualTo(algorithm);
+        if (algorithm.equals("ES256")) {
+            // JWS 규격 서명 형식 (R || S, DER 아님)
+            assertThat(Base64.getUrlDecoder().decode(token.split("\\.")[2])).hasSize(64);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "HS256", "RS256", "ES256" })
+    void refreshTokenCarriesFamilyClaims(String algorithm) {
+        JwtKeyManager keyManager = keyManager(algorithm);
+        JwtProvider provider = provider(keyManager);
+        User user = user(7L, "김철수", "ROLE_USER", 0);
+
+        String token = minter.mint(keyManager.currentKey(), user, user.getRole(), IP, System.currentTimeMillis(),
+                REFRESH_EXPIRATION, "AAAAAAAAAAAAAAAAAAAAAA", 5);
+        TokenVerification verification = provider.verifyToken(token);
+
+        assertThat(verification.isValid()).isTrue();
+        Claims claims = verification.getClaims();
+        assertThat(claims.get("fid", String.class)).isEqualTo("AAAAAAAAAAAAAAAAAAAAAA");
+        assertThat(claims.get("gen", Integer.class)).isEqualTo(5);
+        assertThat(claims.get("typ", String.class)).isEqualTo(JwtTokenMinter.TYPE_REFRESH);
+        assertThat(provider.isRefreshToken(claims)).isTrue();
+    }
+
+    @Test
+    void templateAlignmentHoldsForEveryPrefixLength() {
+        JwtKeyManager keyManager = keyManager("HS256");
+        JwtProvider provider = provider(keyManager);
+        // 고정 부분 길이 % 3 이 0 / 1 / 2 인 경우 모두 (이름 길이 1바이트씩 증가, 멀티바이트 포함)
+        String[] names = { "a", "ab", "abc", "가", "가a", "가ab", "😀", "😀a" };
+        for (int i = 0; i < names.length; i++) {
+            User user = user(100L + i, names[i], "ROLE_USER", i);
+            String token = minter.mint(keyManager.currentKey(), user, user.getRole(), "127.0.0.1",
+                    System.currentTimeMillis(), ACCESS_EXPIRATION, null, 0);
+            TokenVerification verification = provider.verifyToken(token);
+            assertThat(verification.isValid()).as(names[i]).isTrue();
+            assertThat(verification.getClaims().get("userName", String.class)).isEqualTo(names[i]);
+            assertThat(verification.getClaims().get("ver", Integer.class)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void cachedTemplateIsRebuiltWhenUserChanges() {
+        JwtKeyManager keyManager = keyManager("HS256");
+        JwtProvider provider = provider(keyManager);
+        User user = user(1L, "이름", "ROLE_USER", 0);
+
+        mintAndVerify(keyManager, provider, user);
+        user.setRole("ROLE_ADMIN");
+        user.setTokenVersion(1);
+        Claims claims = mintAndVerify(keyManager, provider, user);
+
+        assertThat(claims.get("role", String.class)).isEqualTo("ROLE_ADMIN");
+        assertThat(claims.get("rm", Long.class)).isEqualTo(roleBitmask.maskOf("ROLE_ADMIN"));
+        assertThat(claims.get("ver", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void roleOutsideHierarchyOmitsMaskClaims() {
+        JwtKeyManager keyManager = keyManager("HS256");
+        Claims claims = mintAndVerify(keyManager, provider(keyManager), user(1L, "이름", "ROLE_AUDITOR", 0));
+
+        assertThat(claims.get("role", String.class)).isEqualTo("ROLE_AUDITOR");
+        assertThat(claims).doesNotContainKeys("rm", "rh");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "HS256", "RS256" })
+    void pooledSignersAreSafeAcrossThreads(String algorithm) throws Exception {
+        JwtKeyManager keyManager = keyManager(algorithm);
+        JwtProvider provider = provider(keyManager);
+        ExecutorService executor = Executors.newFixedThreadPool(16); // pool 크기보다 많은 동시 서명
+        try {
+            List<Future<Claims>> results = IntStream.range(0, 400)
+                    .mapToObj(i -> executor.submit(() -> mintAndVerify(keyManager, provider, user((long) i, "이름" + i, "ROLE_USER", 0))))
+                    .toList();
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get().get("userIdx", Long.class)).isEqualTo((long) i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Claims mintAndVerify(JwtKeyManager keyManager, JwtProvider provider, User user){
+        String token = minter.mint(keyManager.currentKey(), user, user.getRole(), "127.0.0.1",
+                System.currentTimeMillis(), ACCESS_EXPIRATION, null, 0);
+        TokenVerification verification = provider.verifyToken(token);
+        assertThat(verification.isValid()).isTrue();
+        return verification.getClaims();
+    }
+
+    private JsonNode decode(String segment) throws Exception {
+        return objectMapper.readTree(new String(Base64.getUrlDecoder().decode(segment), StandardCharsets.UTF_8));
+    }
+
+    private JwtKeyManager keyManager(String algorithm){
+        return new JwtKeyManager(jsonSupport, SECRET, algorithm, "", "", "", false, REFRESH_EXPIRATION, "");
+    }
+
+    private JwtProvider provider(JwtKeyManager keyManager){
+        return new JwtProvider(keyManager, minter, jsonSupport, new SimpleMeterRegistry(),
+                ACCESS_EXPIRATION, REFRESH_EXPIRATION, "Bearer ", "Authorization");
+    }
+
+    private static User user(Long id, String username, String role, int tokenVersion){
+        return User.builder()
+                .id(id)
+                .userId("user" + id)
+                .username(username)
+                .role(role)
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+}
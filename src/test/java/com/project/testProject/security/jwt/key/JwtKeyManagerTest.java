@@ -0,0 +1,99 @@
+package com.project.testProject.security.jwt.key;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.testProject.common.JsonSupport;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.security.jwt.JwtTokenMinter;
+import com.project.testProject.security.role.RoleConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyManagerTest {
+
+    private static final String SECRET = "dGVzdHByb2plY3RfcGFzc3dvcmRfc2hpbmh1bndvbzEyMzQhIQ==";
+    private static final long EXPIRATION = 3600000L;
+
+    private final JsonSupport jsonSupport = new JsonSupport(new ObjectMapper());
+    private final JwtTokenMinter minter = new JwtTokenMinter(new RoleConfig().roleBitmask(), jsonSupport, 100);
+
+    @Test
+    void hs256ModeAcceptsKidLessAndHs256Tokens() {
+        JwtKeyManager keyManager = keyManager("HS256", "");
+
+        assertThat(parse(keyManager, kidLessToken()).getSubject()).isEqualTo("1");
+        assertThat(parse(keyManager, hs256Token()).getSubject()).isEqualTo("1");
+    }
+
+    @Test
+    void asymmetricModeRejectsHmacTokensWithoutCutoff() {
+        JwtKeyManager keyManager = keyManager("RS256", "");
+
+        assertThatThrownBy(() -> parse(keyManager, kidLessToken())).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> parse(keyManager, hs256Token())).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void asymmetricModeAcceptsHmacTokensUntilCutoff() {
+        JwtKeyManager keyManager = keyManager("ES256", Instant.now().plusSeconds(3600).toString());
+
+        assertThat(parse(keyManager, kidLessToken()).getSubject()).isEqualTo("1");
+        assertThat(parse(keyManager, hs256Token()).getSubject()).isEqualTo("1"); // 전환 전 HS256 모드에서 발급된 토큰
+    }
+
+    @Test
+    void asymmetricModeRejectsHmacTokensAfterCutoff() {
+        JwtKeyManager keyManager = keyManager("RS256", Instant.now().minusSeconds(1).toString());
+
+        assertThatThrownBy(() -> parse(keyManager, kidLessToken())).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> parse(keyManager, hs256Token())).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void asymmetricTokensVerifyWithCurrentKeyAndUnknownKidIsRejected() {
+        JwtKeyManager keyManager = keyManager("RS256", "");
+        String token = minter.mint(keyManager.currentKey(), user(), "ROLE_USER", "127.0.0.1",
+                System.currentTimeMillis(), EXPIRATION, null, 0);
+
+        assertThat(parse(keyManager, token).getSubject()).isEqualTo("1");
+        assertThatThrownBy(() -> parse(keyManager("RS256", ""), token)).isInstanceOf(SignatureException.class);
+    }
+
+    private static Claims parse(JwtKeyManager keyManager, String token){
+        return Jwts.parserBuilder().setSigningKeyResolver(keyManager).build().parseClaimsJws(token).getBody();
+    }
+
+    /* kid 도입 이전 jjwt로 발급된 토큰 */
+    private static String kidLessToken(){
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject("1")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+    }
+
+    /* HS256 모드에서 발급된 토큰 (kid "hs256") */
+    private String hs256Token(){
+        return minter.mint(keyManager("HS256", "").currentKey(), user(), "ROLE_USER", "127.0.0.1",
+                System.currentTimeMillis(), EXPIRATION, null, 0);
+    }
+
+    private JwtKeyManager keyManager(String algorithm, String legacyHmacAcceptUntil){
+        return new JwtKeyManager(jsonSupport, SECRET, algorithm, "", "", "", false, 604800000L, legacyHmacAcceptUntil);
+    }
+
+    private static User user(){
+        return User.builder().id(1L).userId("user1").username("user").role("ROLE_USER").build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.testProject.security.jwt.revocation;
+
+import com.project.testProject.model.entity.RevokedToken;
+import com.project.testProject.repository.RevokedTokenRepository;
+import com.project.testProject.security.jwt.JwtUserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+    private static final long ACCESS_EXPIRATION = 3600000L;
+    private static final long REFRESH_EXPIRATION = 604800000L;
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+
+    @Test
+    void revokedTokensSurviveFilterRollover() throws Exception {
+        // 액세스 토큰 만료시간 1ms -> poll마다 Bloom filter 세대 교체, 기대 건수보다 많이 넣어 오탐이 많은 상태에서도 확인
+        TokenRevocationList list = new TokenRevocationList(repository, new SimpleMeterRegistry(), 1, REFRESH_EXPIRATION, 100, 0.01, 5000);
+        list.load();
+        long expiresAt = System.currentTimeMillis() + ACCESS_EXPIRATION;
+        List<String> tokenIds = IntStream.range(0, 1000).mapToObj(i -> "jti-" + i).toList();
+        tokenIds.forEach(tokenId -> list.revoke(tokenId, 1L, expiresAt));
+
+        for (int rotation = 0; rotation < 3; rotation++) {
+            Thread.sleep(2);
+            list.poll();
+            for (String tokenId : tokenIds) {
+                assertThat(list.isRevoked(principal(1L, tokenId, 0L))).as("%s after rotation %d", tokenId, rotation).isTrue();
+            }
+        }
+        assertThat(list.isRevoked(principal(1L, "jti-not-revoked", 0L))).isFalse();
+    }
+
+    @Test
+    void tokensFromOtherServersSurviveRolloverAndExpiredOnesAreDropped() throws Exception {
+        TokenRevocationList list = new TokenRevocationList(repository, new SimpleMeterRegistry(), 1, REFRESH_EXPIRATION, 100, 0.01, 5000);
+        list.load();
+        long now = System.currentTimeMillis();
+        when(repository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("jti-remote", 2L, toLocalDateTime(now + ACCESS_EXPIRATION), toLocalDateTime(now)),
+                new RevokedToken("jti-expiring", 2L, toLocalDateTime(now + 50), toLocalDateTime(now))
+        )).thenReturn(List.of());
+
+        list.poll();
+        assertThat(list.isRevoked(principal(2L, "jti-remote", 0L))).isTrue();
+        assertThat(list.isRevoked(principal(2L, "jti-expiring", 0L))).isTrue();
+
+        Thread.sleep(60);
+        list.poll();
+        list.poll();
+        assertThat(list.isRevoked(principal(2L, "jti-remote", 0L))).isTrue();
+        assertThat(list.isRevoked(principal(2L, "jti-expiring", 0L))).isFalse(); // 만료된 토큰은 세대 교체 시 제거
+    }
+
+    @Test
+    void userCutoffUsesSecondPrecision() {
+        TokenRevocationList list = new TokenRevocationList(repository, new SimpleMeterRegistry(), ACCESS_EXPIRATION, REFRESH_EXPIRATION, 100, 0.01, 5000);
+        long before = System.currentTimeMillis();
+        list.revokeAll(1L);
+        long after = System.currentTimeMillis();
+
+        // iat는 초 단위 -> 전체 로그아웃과 같은 초에 발급된 토큰(다시 로그인)은 유지, 이전 초에 발급된 토큰은 폐기
+        assertThat(list.isRevoked(principal(1L, "jti-same-second", after / 1000 * 1000))).isFalse();
+        assertThat(list.isRevoked(principal(1L, "jti-previous-second", before / 1000 * 1000 - 1000))).isTrue();
+        assertThat(list.isRevoked(principal(2L, "jti-other-user", before / 1000 * 1000 - 1000))).isFalse();
+    }
+
+    @Test
+    void revocationsAreStoredWithSingleUpsert() {
+        TokenRevocationList list = new TokenRevocationList(repository, new SimpleMeterRegistry(), ACCESS_EXPIRATION, REFRESH_EXPIRATION, 100, 0.01, 5000);
+
+        list.revoke("jti", 1L, System.currentTimeMillis() + ACCESS_EXPIRATION);
+        list.revoke("jti", 1L, System.currentTimeMillis() + ACCESS_EXPIRATION); // 중복 로그아웃
+        list.revokeAll(1L);
+        list.revoke("jti-expired", 1L, System.currentTimeMillis() - 1);
+
+        verify(repository, times(2)).upsert(eq("jti"), eq(1L), any(), any());
+        verify(repository).upsert(eq("u:1"), eq(1L), any(), any());
+        verify(repository, never()).upsert(eq("jti-expired"), any(), any(), any());
+        verify(repository, never()).save(any());
+    }
+
+    private static JwtUserPrincipal principal(Long userIdx, String tokenId, long issuedAt){
+        return new JwtUserPrincipal(userIdx, "user" + userIdx, "이름", "ROLE_USER", List.of(),
+                issuedAt + ACCESS_EXPIRATION, tokenId, issuedAt, 0, 0L);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis){
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.testProject.security.jwt.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+
+    @Test
+    void keepsGreatestValue() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        map.putIfGreater(1L, 3);
+        map.putIfGreater(1L, 2); // 버전은 줄어들지 않음
+        map.putIfGreater(2L, 0);
+
+        assertThat(map.get(1L, -1)).isEqualTo(3);
+        assertThat(map.get(2L, -1)).isEqualTo(0);
+        assertThat(map.get(3L, -1)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(2);
+        assertThatThrownBy(() -> map.putIfGreater(0L, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resizeKeepsAllEntries() {
+        LongIntHashMap map = new LongIntHashMap(1); // 최소 capacity 16에서 여러 번 resize
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.putIfGreater(key, (int) (key % 97));
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, -1)).as("key %d", key).isEqualTo((int) (key % 97));
+        }
+        assertThat(map.get(10_001L, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void collidingKeysAreProbedLinearly() {
+        // capacity 16 (mask 15)에서 같은 slot으로 가는 key 수집
+        List<Long> colliding = new ArrayList<>();
+        int target = slot(1L, 15);
+        for (long key = 1; colliding.size() < 6; key++) {
+            if (slot(key, 15) == target) {
+                colliding.add(key);
+            }
+        }
+        LongIntHashMap map = new LongIntHashMap(8);
+
+        for (int i = 0; i < colliding.size(); i++) {
+            map.putIfGreater(colliding.get(i), i + 1);
+        }
+        map.putIfGreater(colliding.get(2), 100); // 탐색 중간 key 갱신
+
+        assertThat(map.size()).isEqualTo(colliding.size());
+        for (int i = 0; i < colliding.size(); i++) {
+            assertThat(map.get(colliding.get(i), -1)).isEqualTo(i == 2 ? 100 : i + 1);
+        }
+    }
+
+    @Test
+    void concurrentReadsDuringWritesSeeOnlyWrittenValues() throws Exception {
+        LongIntHashMap map = new LongIntHashMap(16);
+        int keys = 200_000;
+        AtomicLong written = new AtomicLong(); // 이 값 이하 key는 저장 완료
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(5); // 쓰기 1 + 읽기 4가 동시에 실행되도록
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (long key = 1; key <= keys; key++) {
+                map.putIfGreater(key, value(key));
+                written.set(key);
+            }
+            done.set(true);
+        }, executor);
+
+        List<CompletableFuture<Void>> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(CompletableFuture.runAsync(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!done.get()) {
+                    long completed = written.get();
+                    if (completed > 0) {
+                        // 저장 완료된 key는 resize 중에도 반드시 보임
+                        long key = random.nextLong(1, completed + 1);
+                        assertThat(map.get(key, -1)).as("key %d", key).isEqualTo(value(key));
+                    }
+                    // 아직 저장 중일 수 있는 key는 없음(-1) 또는 저장한 값만 허용
+                    long pendingKey = random.nextLong(1, keys + 1);
+                    assertThat(map.get(pendingKey, -1)).isIn(-1, value(pendingKey));
+                }
+            }, executor));
+        }
+
+        try {
+            writer.get(30, TimeUnit.SECONDS);
+            for (CompletableFuture<Void> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(map.size()).isEqualTo(keys);
+    }
+
+    private static int value(long key){
+        return (int) (key % 1000) + 1;
+    }
+
+    /* LongIntHashMap.slot과 같은 계산 */
+    private static int slot(long key, int mask){
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.testProject.security.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingPasswordEncoder delegate = new RecordingPasswordEncoder();
+    private final ExecutorService callers = Executors.newCachedThreadPool(); // 요청 스레드 (common pool 크기와 무관하게 동시 호출)
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        encoder.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 5000, meterRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("block", "hash"), callers);
+        assertThat(delegate.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"), callers);
+        awaitQueueSize(1);
+
+        assertThatThrownBy(() -> encoder.matches("rejected", "hash"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        delegate.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:queued");
+        assertThat(delegate.calls).doesNotContain("rejected");
+    }
+
+    @Test
+    void matchesRunBeforeQueuedEncodes() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 10, 5000, meterRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("block", "hash"), callers);
+        assertThat(delegate.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 먼저 들어온 encode(LOW) 보다 나중에 들어온 matches(HIGH)가 먼저 실행
+        CompletableFuture<String> encode = CompletableFuture.supplyAsync(() -> encoder.encode("low"), callers);
+        awaitQueueSize(1);
+        CompletableFuture<Boolean> matches = CompletableFuture.supplyAsync(() -> encoder.matches("high", "hash"), callers);
+        awaitQueueSize(2);
+
+        delegate.release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        encode.get(5, TimeUnit.SECONDS);
+        matches.get(5, TimeUnit.SECONDS);
+        assertThat(delegate.calls).containsExactly("block", "high", "low");
+    }
+
+    @Test
+    void timesOutAndSkipsAbandonedTask() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 10, 100, meterRegistry);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("block", "hash"), callers);
+        assertThat(delegate.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("abandoned")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1);
+
+        delegate.release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertThat(encoder.encode("next")).isEqualTo("encoded:next"); // 포기한 작업 이후에 실행
+        assertThat(delegate.calls).containsExactly("block", "next");
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.size").gauge().value() < size) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("대기 작업 수가 " + size + "이 되지 않음");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /* 호출 순서 기록, "block"은 release 전까지 작업 스레드를 점유 */
+    private static final class RecordingPasswordEncoder implements PasswordEncoder {
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.add(rawPassword.toString());
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            calls.add(rawPassword.toString());
+            if ("block".contentEquals(rawPassword)) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.project.testProject.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 분당 60개 -> 1초에 1개 충전, 최대 3개 연속 허용
+    private final RateLimiter limiter = new RateLimiter("test", 60, 3, 1000, Duration.ofMinutes(10),
+            meterRegistry, clock::get);
+
+    @Test
+    void allowsBurstThenReportsWaitUntilNextPermit() {
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(SECOND);
+        clock.addAndGet(SECOND / 4);
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(SECOND * 3 / 4);
+    }
+
+    @Test
+    void refillsOnePermitPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        clock.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(SECOND);
+
+        clock.addAndGet(2 * SECOND);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isEqualTo(SECOND);
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondBurst() {
+        limiter.tryAcquire("ip");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isZero();
+        assertThat(limiter.tryAcquire("ip")).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumePermits() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip");
+        }
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("ip"); // 거부된 요청은 다음 허용 시각을 늦추지 않음
+        }
+
+        clock.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("ip")).isZero();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void countsResults() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip");
+        }
+
+        assertThat(meterRegistry.get("auth.rate_limit.requests").tag("result", "allowed").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.rate_limit.requests").tag("result", "rejected").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.testProject.security.role;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleBitmaskTest {
+
+    private static final String CONFIGURED = "ROLE_ADMIN > ROLE_MANAGER > ROLE_USER";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            CONFIGURED,
+            "ROLE_A > ROLE_B\nROLE_A > ROLE_C\nROLE_C > ROLE_D",   // 분기
+            "ROLE_C > ROLE_D\nROLE_B > ROLE_C\nROLE_A > ROLE_B",   // 하위 관계가 먼저 선언 (전파 여러 번)
+            "ROLE_A > ROLE_B > ROLE_C\nROLE_X > ROLE_C\nROLE_Y",   // 공통 하위 역할 / 독립 역할
+    })
+    void closureMatchesRoleHierarchyForEveryRoleAndPair(String hierarchy) {
+        RoleBitmask bitmask = RoleBitmask.fromHierarchy(hierarchy);
+        RoleHierarchyImpl roleHierarchy = RoleHierarchyImpl.fromHierarchy(hierarchy);
+        List<String> roles = roles(hierarchy);
+
+        for (String role : roles) {
+            assertThat(reachable(bitmask, List.of(role))).as(role)
+                    .isEqualTo(expected(roleHierarchy, List.of(role)));
+            for (String other : roles) {
+                assertThat(reachable(bitmask, List.of(role, other))).as(role + "," + other)
+                        .isEqualTo(expected(roleHierarchy, List.of(role, other)));
+            }
+        }
+    }
+
+    @Test
+    void configuredHierarchyGrantsLowerRoles() {
+        RoleBitmask bitmask = new RoleConfig().roleBitmask();
+
+        long admin = bitmask.closure(bitmask.maskOf("ROLE_ADMIN"));
+        long user = bitmask.closure(bitmask.maskOf("ROLE_USER"));
+
+        assertThat(admin & bitmask.bit("ROLE_USER")).isNotZero();
+        assertThat(admin & bitmask.bit("ROLE_MANAGER")).isNotZero();
+        assertThat(user & bitmask.bit("ROLE_ADMIN")).isZero();
+    }
+
+    @Test
+    void unknownRolesAreNotMapped() {
+        RoleBitmask bitmask = RoleBitmask.fromHierarchy(CONFIGURED);
+
+        assertThat(bitmask.maskOf("ROLE_AUDITOR")).isEqualTo(RoleBitmask.UNKNOWN);
+        assertThat(bitmask.maskOf("ROLE_USER,ROLE_AUDITOR")).isEqualTo(RoleBitmask.UNKNOWN);
+        assertThat(bitmask.maskOf("")).isEqualTo(RoleBitmask.UNKNOWN);
+        assertThat(bitmask.knownMask(AuthorityUtils.createAuthorityList("ROLE_AUDITOR", "ROLE_USER")))
+                .isEqualTo(bitmask.bit("ROLE_USER"));
+    }
+
+    @Test
+    void sameHierarchyHasSameFingerprint() {
+        assertThat(RoleBitmask.fromHierarchy(CONFIGURED).fingerprint())
+                .isEqualTo(RoleBitmask.fromHierarchy(" ROLE_ADMIN >ROLE_MANAGER> ROLE_USER ").fingerprint());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "ROLE_ADMIN > ROLE_MANAGER > ROLE_USER > ROLE_GUEST",       // 역할 추가
+            "ROLE_MANAGER > ROLE_ADMIN > ROLE_USER",                    // 비트 순서 변경
+            "ROLE_ADMIN > ROLE_MANAGER\nROLE_USER",                     // 같은 역할 / 순서, 관계만 변경
+            "ROLE_ADMIN > ROLE_MANAGER\nROLE_ADMIN > ROLE_USER",        // 같은 역할 / 순서, MANAGER -> USER 관계 제거
+    })
+    void changedHierarchyChangesFingerprint(String changed) {
+        // fingerprint가 다르면 이전 토큰의 rm claim 대신 role claim으로 권한 계산
+        assertThat(RoleBitmask.fromHierarchy(changed).fingerprint())
+                .isNotEqualTo(RoleBitmask.fromHierarchy(CONFIGURED).fingerprint());
+    }
+
+    @Test
+    void authoritiesAreSharedPerMask() {
+        RoleBitmask bitmask = RoleBitmask.fromHierarchy(CONFIGURED);
+        long mask = bitmask.closure(bitmask.maskOf("ROLE_MANAGER"));
+
+        assertThat(bitmask.authorities(mask)).isSameAs(bitmask.authorities(mask));
+        assertThat(names(bitmask.authorities(mask))).containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_USER");
+    }
+
+    private static Set<String> reachable(RoleBitmask bitmask, List<String> granted){
+        return names(bitmask.authorities(bitmask.closure(bitmask.knownMask(AuthorityUtils.createAuthorityList(granted.toArray(String[]::new))))));
+    }
+
+    private static Set<String> expected(RoleHierarchyImpl roleHierarchy, List<String> granted){
+        return names(roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList(granted.toArray(String[]::new))));
+    }
+
+    private static Set<String> names(Collection<? extends GrantedAuthority> authorities){
+        return Set.copyOf(AuthorityUtils.authorityListToSet(authorities));
+    }
+
+    private static List<String> roles(String hierarchy){
+        List<String> roles = new ArrayList<>();
+        for (String line : hierarchy.split("\n")) {
+            for (String role : line.split(">")) {
+                if (!role.isBlank() && !roles.contains(role.trim())) {
+                    roles.add(role.trim());
+                }
+            }
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.testProject.security.route;
+
+import com.project.testProject.security.role.RoleConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutePolicyTest {
+
+    private final RoutePolicy routePolicy = new RoutePolicyConfig().routePolicy();
+
+    @Test
+    void exactPathAllowsSingleTrailingSlash() {
+        assertThat(match("/api/path/admin")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/api/path/admin/")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/api/path/admin//")).hasToString("hasRole(ADMIN)"); // "//" 정리 후 "/api/path/admin/"
+        assertThat(routePolicy.match("/api/path/adminx")).hasToString("AUTHENTICATED");
+    }
+
+    @Test
+    void accountManagementRoutes() {
+        assertThat(match("/api/admin/users/1/role")).hasToString("hasRole(ADMIN)");
+        assertThat(routePolicy.match("/api/user/password")).hasToString("AUTHENTICATED");
+    }
+
+    @Test
+    void subtreePatternMatchesRootAndDescendants() {
+        assertThat(match("/api/login").isPublic()).isTrue();
+        assertThat(match("/api/login/").isPublic()).isTrue();
+        assertThat(match("/api/login/refresh-token").isPublic()).isTrue();
+        assertThat(match("/api/loginx").isPublic()).isFalse();
+        assertThat(match("/actuator/metrics/jvm.memory.used")).hasToString("hasRole(ADMIN)");
+    }
+
+    @Test
+    void longestPatternWins() {
+        assertThat(match("/actuator/health").isPublic()).isTrue();
+        assertThat(match("/actuator/healthx")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/actuator")).hasToString("hasRole(ADMIN)");
+    }
+
+    @Test
+    void encodedPathIsDecodedBeforeLookup() {
+        assertThat(match("/api/path/%61dmin")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/api/path/%61%64%6D%69%6E")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/actuator/%6detrics")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/api/path/admin;jsessionid=1")).hasToString("hasRole(ADMIN)");
+        assertThat(match("/api/path/%61dmin/")).hasToString("hasRole(ADMIN)");
+    }
+
+    @Test
+    void contextPathIsExcluded() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/path/admin");
+        request.setContextPath("/app");
+        assertThat(routePolicy.match(request)).hasToString("hasRole(ADMIN)");
+    }
+
+    @Test
+    void encodedAdminPathIsDeniedForUserRole() {
+        RouteAuthorizationManager manager = new RouteAuthorizationManager(routePolicy, new RoleConfig().roleBitmask());
+        Authentication user = UsernamePasswordAuthenticationToken.authenticated("user", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        for (String uri : new String[] { "/api/path/admin", "/api/path/%61dmin", "/actuator/%6detrics" }) {
+            RequestAuthorizationContext context = new RequestAuthorizationContext(new MockHttpServletRequest("GET", uri));
+            assertThat(manager.authorize(() -> user, context).isGranted()).as(uri).isFalse();
+            assertThat(manager.authorize(() -> admin, context).isGranted()).as(uri).isTrue();
+        }
+    }
+
+    private RouteRule match(String requestUri){
+        return routePolicy.match(new MockHttpServletRequest("GET", requestUri));
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.testProject.service;
+
+import com.project.testProject.model.entity.RefreshToken;
+import com.project.testProject.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenFamilyIndexTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenFamilyIndex index = new RefreshTokenFamilyIndex(repository, new SimpleMeterRegistry(), 100, 604800000L);
+
+    @Test
+    void invalidateDuringLoadDoesNotPublishStaleFamily() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findByUserId(1L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(row("family-old", 0)); // 로그아웃 이전에 읽은 행
+                })
+                .thenReturn(Optional.empty()); // 로그아웃으로 삭제된 뒤
+
+        CompletableFuture<RefreshTokenFamilyIndex.Family> staleLoad = CompletableFuture.supplyAsync(() -> index.get(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        index.invalidate(1L);
+        release.countDown();
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS).getFamilyId()).isEqualTo("family-old");
+
+        assertThat(index.get(1L)).isNull();
+    }
+
+    @Test
+    void replaceSucceedsOnlyForCurrentFamily() {
+        RefreshTokenFamilyIndex.Family current = family("family", 0);
+        RefreshTokenFamilyIndex.Family next = family("family", 1);
+        index.put(1L, current);
+
+        assertThat(index.replace(1L, current, next)).isTrue();
+        assertThat(index.replace(1L, current, family("family", 1))).isFalse(); // 같은 토큰 동시 사용
+        assertThat(index.get(1L)).isSameAs(next);
+        assertThat(index.replace(2L, current, next)).isFalse();
+    }
+
+    @Test
+    void missingRowIsNotCached() {
+        when(repository.findByUserId(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(row("family", 0)));
+
+        assertThat(index.get(1L)).isNull();
+        assertThat(index.get(1L).getFamilyId()).isEqualTo("family");
+    }
+
+    private static RefreshTokenFamilyIndex.Family family(String familyId, int generation){
+        return RefreshTokenFamilyIndex.Family.of(familyId, generation, new byte[32], LocalDateTime.now().plusDays(7));
+    }
+
+    private static RefreshToken row(String familyId, int generation){
+        RefreshToken token = new RefreshToken();
+        token.setUserId(1L);
+        token.setFamilyId(familyId);
+        token.setGeneration(generation);
+        token.setTokenHash(new byte[32]);
+        token.setExpiryDate(LocalDateTime.now().plusDays(7));
+        return token;
+    }
+}
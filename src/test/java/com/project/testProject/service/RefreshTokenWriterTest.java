@@ -0,0 +1,183 @@
+package com.project.testProject.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class RefreshTokenWriterTest {
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private RefreshTokenWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jdbcTemplate.release.countDown();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void syncWritesOnCallerThread() {
+        writer = writer(RefreshTokenWriter.Durability.SYNC, 10);
+        writer.start();
+
+        writer.write(1L, "family", 0, "token-0", expiry());
+
+        assertThat(jdbcTemplate.rows).containsExactly(new Row(1L, 0));
+        assertThat(jdbcTemplate.threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void asyncAckReturnsAfterBatchCommit() {
+        writer = writer(RefreshTokenWriter.Durability.ASYNC_ACK, 10);
+        writer.start();
+
+        writer.write(1L, "family", 0, "token-0", expiry());
+
+        assertThat(jdbcTemplate.rows).containsExactly(new Row(1L, 0));
+        assertThat(jdbcTemplate.threads).containsExactly("refresh-token-writer");
+    }
+
+    @Test
+    void pendingWritesForSameUserAreMerged() throws Exception {
+        writer = writer(RefreshTokenWriter.Durability.FIRE_AND_FORGET, 10);
+        jdbcTemplate.blockNextBatch();
+        writer.start();
+
+        writer.write(1L, "family", 0, "token-0", expiry());
+        assertThat(jdbcTemplate.batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.write(2L, "family", 1, "token-1", expiry());
+        writer.write(2L, "family", 2, "token-2", expiry()); // 저장 전이므로 1건으로 병합
+        jdbcTemplate.release.countDown();
+        writer.awaitPending(2L);
+
+        assertThat(jdbcTemplate.rows).containsExactly(new Row(1L, 0), new Row(2L, 2));
+    }
+
+    @Test
+    void fullQueueFlushesOnCallerThreadAfterInFlightBatch() throws Exception {
+        writer = writer(RefreshTokenWriter.Durability.FIRE_AND_FORGET, 1);
+        jdbcTemplate.blockNextBatch();
+        writer.start();
+
+        writer.write(1L, "family", 0, "token-0", expiry());
+        assertThat(jdbcTemplate.batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.write(2L, "family", 0, "token-0", expiry()); // 큐 1칸 사용 (flusher는 batch 저장 중)
+
+        CompletableFuture<Void> direct = CompletableFuture.runAsync(() -> writer.write(3L, "family", 0, "token-0", expiry()));
+        assertThatThrownBy(() -> direct.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        jdbcTemplate.release.countDown();
+        direct.get(5, TimeUnit.SECONDS);
+        writer.awaitPending(2L);
+
+        assertThat(jdbcTemplate.rows).containsExactlyInAnyOrder(new Row(1L, 0), new Row(2L, 0), new Row(3L, 0));
+        assertThat(jdbcTemplate.rows.get(0)).isEqualTo(new Row(1L, 0));
+    }
+
+    @Test
+    void directFlushDoesNotOverwriteNewerTokenWithInFlightOlderOne() throws Exception {
+        writer = writer(RefreshTokenWriter.Durability.FIRE_AND_FORGET, 1);
+        jdbcTemplate.blockNextBatch();
+        writer.start();
+
+        writer.write(1L, "family", 0, "token-0", expiry());
+        assertThat(jdbcTemplate.batchStarted.await(5, TimeUnit.SECONDS)).isTrue(); // generation 0 저장 중
+        writer.write(2L, "family", 0, "token-0", expiry()); // 큐 가득 참
+
+        // 같은 사용자의 다음 토큰은 큐에 들어가지 못해 직접 저장 -> 진행 중인 batch 이후에 저장되어야 함
+        CompletableFuture<Void> direct = CompletableFuture.runAsync(() -> writer.write(1L, "family", 1, "token-1", expiry()));
+        Thread.sleep(100);
+        jdbcTemplate.release.countDown();
+        direct.get(5, TimeUnit.SECONDS);
+        writer.awaitPending(2L);
+
+        List<Row> user1 = jdbcTemplate.rows.stream().filter(row -> row.userId() == 1L).toList();
+        assertThat(user1).containsExactly(new Row(1L, 0), new Row(1L, 1));
+    }
+
+    private RefreshTokenWriter writer(RefreshTokenWriter.Durability durability, int queueCapacity){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new RefreshTokenWriter(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                durability, queueCapacity, 200, 3000, 10);
+    }
+
+    private static LocalDateTime expiry(){
+        return LocalDateTime.now().plusDays(7);
+    }
+
+    private record Row(long userId, int generation) {
+    }
+
+    /* batch 저장 내용을 기록 (blockNextBatch 시 첫 batch는 release 전까지 커밋하지 않음) */
+    private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final List<Row> rows = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch batchStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blockNext;
+
+        void blockNextBatch(){
+            blockNext = true;
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            List<Row> batch = new ArrayList<>();
+            for (T arg : batchArgs) {
+                long[] values = new long[2];
+                PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                            if (method.getName().equals("setLong") && (int) args[0] == 1) {
+                                values[0] = (long) args[1];
+                            } else if (method.getName().equals("setInt") && (int) args[0] == 3) {
+                                values[1] = (int) args[1];
+                            }
+                            return null;
+                        });
+                try {
+                    pss.setValues(ps, arg);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                batch.add(new Row(values[0], (int) values[1]));
+            }
+            if (blockNext) {
+                blockNext = false;
+                batchStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            rows.addAll(batch);
+            threads.add(Thread.currentThread().getName());
+            return new int[][]{new int[batch.size()]};
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.testProject.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache cache = new UserDetailsCache(100, 300, new SimpleMeterRegistry());
+
+    @Test
+    void invalidateDuringLoadDoesNotPublishStaleValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 변경 이전 행을 읽은 loader가 invalidate 이후에 끝나는 경우
+        CompletableFuture<UserDetails> staleLoad = CompletableFuture.supplyAsync(() -> cache.get(1L, idx -> {
+            loading.countDown();
+            await(release);
+            return user("ROLE_USER");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate(1L); // changeRole 커밋 후 호출
+        release.countDown();
+        staleLoad.get(5, TimeUnit.SECONDS);
+
+        UserDetails reloaded = cache.get(1L, idx -> user("ROLE_ADMIN"));
+        assertThat(reloaded.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<UserDetails> first = CompletableFuture.supplyAsync(() -> cache.get(1L, idx -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return user("ROLE_USER");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<UserDetails> second = CompletableFuture.supplyAsync(() -> cache.get(1L, idx -> {
+            loads.incrementAndGet();
+            return user("ROLE_USER");
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertThatThrownBy(() -> cache.get(1L, idx -> {
+            throw new UsernameNotFoundException("not found");
+        })).isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(cache.get(1L, idx -> user("ROLE_USER")).getUsername()).isEqualTo("1");
+    }
+
+    @Test
+    void returnsCopyThatKeepsCachedPassword() {
+        UserDetails first = cache.get(1L, idx -> user("ROLE_USER"));
+        ((User) first).eraseCredentials();
+
+        assertThat(cache.get(1L, idx -> user("ROLE_ADMIN")).getPassword()).isEqualTo("{bcrypt}hash");
+    }
+
+    private static UserDetails user(String role){
+        return User.withUsername("1").password("{bcrypt}hash").authorities(role).build();
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.testProject.service.impl;
+
+import com.project.testProject.common.ResultObject;
+import com.project.testProject.model.dto.TokenResponseDto;
+import com.project.testProject.model.entity.RefreshToken;
+import com.project.testProject.model.entity.User;
+import com.project.testProject.repository.RefreshTokenRepository;
+import com.project.testProject.repository.UserRepository;
+import com.project.testProject.security.audit.AuthAuditLogger;
+import com.project.testProject.security.jwt.JwtProvider;
+import com.project.testProject.security.jwt.TokenHasher;
+import com.project.testProject.security.jwt.TokenVerification;
+import com.project.testProject.security.jwt.revocation.TokenRevocationList;
+import com.project.testProject.security.jwt.version.TokenVersionRegistry;
+import com.project.testProject.service.AuthMetrics;
+import com.project.testProject.service.RefreshTokenFamilyIndex;
+import com.project.testProject.service.RefreshTokenWriter;
+import com.project.testProject.service.UserDetailsCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceImplTest {
+
+    private static final long REFRESH_EXPIRATION = 604800000L;
+    private static final String REFRESH_TOKEN = "refresh-token-gen0";
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenVersionRegistry tokenVersionRegistry = mock(TokenVersionRegistry.class);
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+    private final RefreshTokenFamilyIndex familyIndex =
+            new RefreshTokenFamilyIndex(refreshTokenRepository, new SimpleMeterRegistry(), 100, REFRESH_EXPIRATION);
+
+    private final AuthServiceImpl authService = new AuthServiceImpl(
+            passwordEncoder,
+            userRepository,
+            refreshTokenRepository,
+            mock(UserDetailsPasswordService.class),
+            jwtProvider,
+            mock(UserDetailsCache.class),
+            mock(RefreshTokenWriter.class),
+            familyIndex,
+            mock(TokenRevocationList.class),
+            tokenVersionRegistry,
+            new AuthAuditLogger(1.0, 1.0, 1.0),
+            new AuthMetrics(new SimpleMeterRegistry())
+    );
+
+    @BeforeEach
+    void setUp() {
+        Claims claims = Jwts.claims();
+        claims.put("userIdx", 1L);
+        claims.put("typ", "refresh");
+        claims.put("fid", "family");
+        claims.put("gen", 0);
+        when(jwtProvider.verifyToken(REFRESH_TOKEN)).thenReturn(TokenVerification.valid(claims));
+        when(jwtProvider.isRefreshToken(claims)).thenReturn(true);
+        when(jwtProvider.getRefreshTokenExpiration()).thenReturn(REFRESH_EXPIRATION);
+        when(jwtProvider.generateAccessToken(any(), any())).thenReturn("access-token");
+        when(jwtProvider.generateRefreshToken(any(), any(), anyString(), anyInt())).thenReturn("refresh-token-gen1");
+
+        User user = User.builder().id(1L).userId("user").username("user").password("{noop}pw").role("ROLE_USER").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(refreshTokenRepository.findByUserId(1L)).thenReturn(Optional.of(row()));
+        familyIndex.put(1L, RefreshTokenFamilyIndex.Family.of("family", 0,
+                TokenHasher.sha256(REFRESH_TOKEN), LocalDateTime.now().plusDays(7)));
+    }
+
+    @Test
+    void failedRotateDoesNotTurnRetryIntoReuse() {
+        when(refreshTokenRepository.rotate(eq(1L), eq("family"), eq(0), eq("family"), any(), any()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"))
+                .thenReturn(1);
+
+        assertThatThrownBy(() -> authService.refreshToken(REFRESH_TOKEN)).isInstanceOf(QueryTimeoutException.class);
+
+        // DB는 여전히 generation 0 -> 같은 토큰으로 재시도하면 정상 갱신 (family 폐기 / 로그아웃 없음)
+        ResultObject<TokenResponseDto> retry = authService.refreshToken(REFRESH_TOKEN);
+        assertThat(retry.isSuccess()).isTrue();
+        assertThat(retry.getData().getRefreshToken()).isEqualTo("refresh-token-gen1");
+        assertThat(familyIndex.get(1L).getGeneration()).isEqualTo(1);
+        verify(refreshTokenRepository, never()).deleteByUserId(anyLong());
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesFamily() {
+        when(refreshTokenRepository.rotate(eq(1L), eq("family"), eq(0), eq("family"), any(), any())).thenReturn(1);
+
+        assertThat(authService.refreshToken(REFRESH_TOKEN).isSuccess()).isTrue();
+        assertThat(authService.refreshToken(REFRESH_TOKEN).isSuccess()).isFalse();
+        verify(refreshTokenRepository).deleteByUserId(1L);
+    }
+
+    @Test
+    void duplicateUserIdIsRejectedBeforeHashing() {
+        when(userRepository.existsByUserId("user")).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.registerUser(User.builder().userId("user").password("pw").build()))
+                .isInstanceOf(DuplicateKeyException.class);
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void changePasswordRequiresCurrentPasswordAndBumpsTokenVersion() {
+        User user = userRepository.findById(1L).orElseThrow();
+        when(passwordEncoder.matches("wrong", "{noop}pw")).thenReturn(false);
+        when(passwordEncoder.matches("pw", "{noop}pw")).thenReturn(true);
+        when(passwordEncoder.encode("new-password")).thenReturn("{noop}new-password");
+
+        assertThatThrownBy(() -> authService.changePassword(1L, "wrong", "new-password"))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(userRepository, never()).save(any());
+
+        authService.changePassword(1L, "pw", "new-password");
+        assertThat(user.getPassword()).isEqualTo("{noop}new-password");
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(userRepository).save(user);
+        verify(tokenVersionRegistry).update(1L, 1);
+    }
+
+    private static RefreshToken row(){
+        RefreshToken token = new RefreshToken();
+        token.setUserId(1L);
+        token.setFamilyId("family");
+        token.setGeneration(0);
+        token.setTokenHash(TokenHasher.sha256(REFRESH_TOKEN));
+        token.setExpiryDate(LocalDateTime.now().plusDays(7));
+        return token;
+    }
+}